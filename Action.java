@@ -3,7 +3,7 @@ package main;
 import fileio.ActionsInput;
 
 public final class Action {
-    private String command;
+    private Command command;
     private int handIdx;
     private Position cardAttacker = null;
     private Position cardAttacked = null;
@@ -12,12 +12,19 @@ public final class Action {
     private int x;
     private int y;
 
+    /**
+     * Constructor for Action class, the fields are set by the reader of the input
+     */
+    public Action() {
+    }
+
     /**
      * Constructor for Action class
      * @param action contains the action information extracted from input
+     * @throws IllegalArgumentException if the command is unknown
      */
     public Action(final ActionsInput action) {
-        this.command = action.getCommand();
+        this.command = Command.fromName(action.getCommand());
         this.handIdx = action.getHandIdx();
 
         if (action.getCardAttacker() != null) {
@@ -68,17 +75,17 @@ public final class Action {
 
     /**
      * Getter for command member
-     * @return string that contains a command
+     * @return the command of the action
      */
-    public String getCommand() {
+    public Command getCommand() {
         return command;
     }
 
     /**
      * Setter for command member
-     * @param command string that contains a command
+     * @param command the command of the action
      */
-    public void setCommand(final String command) {
+    public void setCommand(final Command command) {
         this.command = command;
     }
 
@@ -150,7 +157,7 @@ public final class Action {
     public String toString() {
         return "ActionsInput{"
                 + "command='"
-                + command + '\''
+                + command.getName() + '\''
                 + ", handIdx="
                 + handIdx
                 + ", cardAttacker="
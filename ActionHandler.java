@@ -0,0 +1,16 @@
+package main;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ActionHandler {
+    /**
+     * Perform an action and write its output
+     * @param action the action to be performed
+     * @param output the generator where the output will be written
+     * @throws IOException in case of exceptions to writing
+     */
+    void handle(Action action, JsonGenerator output) throws IOException;
+}
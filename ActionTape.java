@@ -0,0 +1,209 @@
+package main;
+
+import fileio.ActionsInput;
+import fileio.Coordinates;
+
+import java.util.Arrays;
+
+/**
+ * The actions of a game packed in one int array, instead of an Action with two Position
+ * objects for every action. An action takes HEADER_INTS ints: the command, the flags
+ * telling which positions are present, affectedRow and playerIdx in the first one, the
+ * coordinates of cardAttacker and cardAttacked in the second one and handIdx, x and y in the
+ * third one, one byte each. An action with a value that does not fit in a byte is marked
+ * with the WIDE flag and its values follow as WIDE_INTS whole ints. The actions are read in
+ * order with a Cursor, which fills the same Action every time.
+ */
+public final class ActionTape {
+    private int[] data = new int[0];
+    private int length;
+    private int size;
+
+    /**
+     * Reads the actions of a tape in order, into one Action and two Position objects that
+     * are reused for every action and every tape
+     */
+    public static final class Cursor {
+        private final Action action = new Action();
+        private final Position cardAttacker = new Position(0, 0);
+        private final Position cardAttacked = new Position(0, 0);
+        private ActionTape tape;
+        private int offset;
+
+        /**
+         * Start reading a tape from its first action
+         * @param newTape the tape to be read
+         */
+        public void reset(final ActionTape newTape) {
+            this.tape = newTape;
+            this.offset = 0;
+        }
+
+        /**
+         * Read the next action
+         * @return true if there was one, false at the end of the tape
+         */
+        public boolean next() {
+            if (tape == null || offset == tape.length) {
+                return false;
+            }
+            int[] data = tape.data;
+            int first = data[offset];
+            int second = data[offset + 1];
+            int third = data[offset + 2];
+            offset += HEADER_INTS;
+
+            int flags = first >>> FLAGS_SHIFT & BYTE_MASK;
+            action.setCommand(COMMANDS[first >>> COMMAND_SHIFT]);
+            if ((flags & WIDE) != 0) {
+                action.setHandIdx(data[offset]);
+                cardAttacker.setX(data[offset + 1]);
+                cardAttacker.setY(data[offset + 2]);
+                cardAttacked.setX(data[offset + 3]);
+                cardAttacked.setY(data[offset + 4]);
+                action.setAffectedRow(data[offset + 5]);
+                action.setPlayerIdx(data[offset + 6]);
+                action.setX(data[offset + 7]);
+                action.setY(data[offset + 8]);
+                offset += WIDE_INTS;
+            } else {
+                action.setHandIdx((byte) (third >>> 16));
+                cardAttacker.setX((byte) (second >>> 24));
+                cardAttacker.setY((byte) (second >>> 16));
+                cardAttacked.setX((byte) (second >>> 8));
+                cardAttacked.setY((byte) second);
+                action.setAffectedRow((byte) (first >>> 8));
+                action.setPlayerIdx((byte) first);
+                action.setX((byte) (third >>> 8));
+                action.setY((byte) third);
+            }
+            action.setCardAttacker((flags & HAS_ATTACKER) != 0 ? cardAttacker : null);
+            action.setCardAttacked((flags & HAS_ATTACKED) != 0 ? cardAttacked : null);
+            return true;
+        }
+
+        /**
+         * Getter for action member
+         * @return the action read by the last call of next, changed by the next call
+         */
+        public Action getAction() {
+            return action;
+        }
+    }
+
+    /**
+     * Add an action read from the input
+     * @param input contains the action information extracted from input
+     * @throws IllegalArgumentException if the command is unknown
+     */
+    public void add(final ActionsInput input) {
+        Coordinates attacker = input.getCardAttacker();
+        Coordinates attacked = input.getCardAttacked();
+        add(Command.fromName(input.getCommand()), input.getHandIdx(),
+                attacker != null, attacker == null ? 0 : attacker.getX(),
+                attacker == null ? 0 : attacker.getY(),
+                attacked != null, attacked == null ? 0 : attacked.getX(),
+                attacked == null ? 0 : attacked.getY(),
+                input.getAffectedRow(), input.getPlayerIdx(), input.getX(), input.getY());
+    }
+
+    /**
+     * Add an action
+     * @param action the action, copied to the tape
+     */
+    public void add(final Action action) {
+        Position attacker = action.getCardAttacker();
+        Position attacked = action.getCardAttacked();
+        add(action.getCommand(), action.getHandIdx(),
+                attacker != null, attacker == null ? 0 : attacker.getX(),
+                attacker == null ? 0 : attacker.getY(),
+                attacked != null, attacked == null ? 0 : attacked.getX(),
+                attacked == null ? 0 : attacked.getY(),
+                action.getAffectedRow(), action.getPlayerIdx(), action.getX(), action.getY());
+    }
+
+    private void add(final Command command, final int handIdx, final boolean hasAttacker,
+                     final int attackerX, final int attackerY, final boolean hasAttacked,
+                     final int attackedX, final int attackedY, final int affectedRow,
+                     final int playerIdx, final int x, final int y) {
+        boolean wide = !fits(handIdx) || !fits(attackerX) || !fits(attackerY)
+                || !fits(attackedX) || !fits(attackedY) || !fits(affectedRow)
+                || !fits(playerIdx) || !fits(x) || !fits(y);
+        int flags = 0;
+        if (hasAttacker) {
+            flags |= HAS_ATTACKER;
+        }
+        if (hasAttacked) {
+            flags |= HAS_ATTACKED;
+        }
+        if (wide) {
+            flags |= WIDE;
+        }
+
+        ensureCapacity(length + HEADER_INTS + (wide ? WIDE_INTS : 0));
+        data[length++] = command.ordinal() << COMMAND_SHIFT | flags << FLAGS_SHIFT
+                | (affectedRow & BYTE_MASK) << 8 | playerIdx & BYTE_MASK;
+        data[length++] = (attackerX & BYTE_MASK) << 24 | (attackerY & BYTE_MASK) << 16
+                | (attackedX & BYTE_MASK) << 8 | attackedY & BYTE_MASK;
+        data[length++] = (handIdx & BYTE_MASK) << 16 | (x & BYTE_MASK) << 8 | y & BYTE_MASK;
+        if (wide) {
+            data[length++] = handIdx;
+            data[length++] = attackerX;
+            data[length++] = attackerY;
+            data[length++] = attackedX;
+            data[length++] = attackedY;
+            data[length++] = affectedRow;
+            data[length++] = playerIdx;
+            data[length++] = x;
+            data[length++] = y;
+        }
+        size++;
+    }
+
+    /**
+     * Get the number of actions
+     * @return the number of actions added
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Make the array as long as the actions, once all of them were added
+     */
+    public void trimToSize() {
+        data = Arrays.copyOf(data, length);
+    }
+
+    @Override
+    public String toString() {
+        return "ActionTape{"
+                + "size="
+                + size
+                + ", ints="
+                + length
+                + '}';
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > data.length) {
+            int newLength = Math.max(INITIAL_CAPACITY, data.length * 2);
+            data = Arrays.copyOf(data, Math.max(capacity, newLength));
+        }
+    }
+
+    private static boolean fits(final int value) {
+        return value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE;
+    }
+
+    static final Command[] COMMANDS = Command.values();
+    static final int HEADER_INTS = 3;
+    static final int WIDE_INTS = 9;
+    static final int COMMAND_SHIFT = 24;
+    static final int FLAGS_SHIFT = 16;
+    static final int BYTE_MASK = 0xFF;
+    static final int HAS_ATTACKER = 1;
+    static final int HAS_ATTACKED = 2;
+    static final int WIDE = 4;
+    static final int INITIAL_CAPACITY = 48;
+}
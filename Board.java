@@ -0,0 +1,613 @@
+package main;
+
+import java.util.ArrayList;
+
+/**
+ * The table of the game: 4 rows of at most 5 cards. The cards are kept in one
+ * fixed array, row after row, and every row keeps the number of cards placed on it.
+ * The cards of a row are always at the start of the row, in the order they were placed.
+ * Every row also keeps the number of tank cards on it, updated by every change of the row,
+ * so checking for a tank does not scan the row. The counters are checked against the cards
+ * of the row when the assertions are enabled.
+ * The frozen cards are kept as a bit set with one bit for every position of the table, so a
+ * side of the table is unfrozen at once. The board also counts the turns of the game: a card
+ * that attacked or used its ability keeps the turn it did so, and a new turn needs no reset.
+ * For the abilities that target the strongest card of a row, every row keeps the position of
+ * the first card with the biggest health and of the first card with the biggest attack. The
+ * health and the attack of the cards on the table are changed through the board, so a change
+ * updates the position at once, or marks it to be found again only when the strongest card
+ * becomes weaker or is removed.
+ * Every row has a version, increased by every change of the row or of a card on it and by
+ * every new turn, so the legal moves listed for the cards of a row are listed again only after
+ * the row changed. The Zobrist hash of the table is kept per row and a row is hashed again
+ * only when its version changed since it was last hashed. With a MoveJournal, every change
+ * is recorded so it can be taken back.
+ */
+public final class Board {
+    private final Card[] cards = new Card[TABLE_MAX_ROWS * TABLE_MAX_COLS];
+    private final int[] rowSizes = new int[TABLE_MAX_ROWS];
+    private final int[] tankCounts = new int[TABLE_MAX_ROWS];
+    private final int[][] maxCols = new int[STATS][TABLE_MAX_ROWS];
+    private final int[][] maxValues = new int[STATS][TABLE_MAX_ROWS];
+    private final int[] staleRows = new int[STATS];
+    private final int[] rowVersions = new int[TABLE_MAX_ROWS];
+    private final long[] rowHashes = new long[TABLE_MAX_ROWS];
+    private final int[] hashedVersions = new int[TABLE_MAX_ROWS];
+    private int frozen;
+    private int turn = 1;
+    private MoveJournal journal;
+
+    /**
+     * Constructor for an empty Board
+     */
+    public Board() {
+        for (int row = 0; row < TABLE_MAX_ROWS; row++) {
+            hashedVersions[row] = -1;
+        }
+    }
+
+    /**
+     * Copy constructor for Board class, every card on the table is copied
+     * @param board the table that will be copied
+     */
+    public Board(final Board board) {
+        for (int i = 0; i < cards.length; i++) {
+            if (board.cards[i] != null) {
+                cards[i] = new Card(board.cards[i]);
+            }
+        }
+        System.arraycopy(board.rowSizes, 0, rowSizes, 0, TABLE_MAX_ROWS);
+        System.arraycopy(board.tankCounts, 0, tankCounts, 0, TABLE_MAX_ROWS);
+        for (int i = 0; i < STATS; i++) {
+            System.arraycopy(board.maxCols[i], 0, maxCols[i], 0, TABLE_MAX_ROWS);
+            System.arraycopy(board.maxValues[i], 0, maxValues[i], 0, TABLE_MAX_ROWS);
+        }
+        System.arraycopy(board.staleRows, 0, staleRows, 0, STATS);
+        System.arraycopy(board.rowVersions, 0, rowVersions, 0, TABLE_MAX_ROWS);
+        System.arraycopy(board.rowHashes, 0, rowHashes, 0, TABLE_MAX_ROWS);
+        System.arraycopy(board.hashedVersions, 0, hashedVersions, 0, TABLE_MAX_ROWS);
+        this.frozen = board.frozen;
+        this.turn = board.turn;
+    }
+
+    /**
+     * Get a card from the table
+     * @param row the index of the row
+     * @param col the index of the card on the row
+     * @return the card
+     * @throws IndexOutOfBoundsException if there is no card at that position
+     */
+    public Card get(final int row, final int col) {
+        if (col < 0 || col >= rowSizes[row]) {
+            throw new IndexOutOfBoundsException("Index: " + col + ", Size: " + rowSizes[row]);
+        }
+        return cards[row * TABLE_MAX_COLS + col];
+    }
+
+    /**
+     * Check if there is a card at a position
+     * @param row the index of the row, it can be outside the table
+     * @param col the index of the card on the row
+     * @return true if there is a card at that position and false otherwise
+     */
+    public boolean hasCard(final int row, final int col) {
+        return row >= 0 && row < TABLE_MAX_ROWS && col >= 0 && col < rowSizes[row];
+    }
+
+    /**
+     * Get the number of cards on a row
+     * @param row the index of the row
+     * @return the number of cards
+     */
+    public int getRowSize(final int row) {
+        return rowSizes[row];
+    }
+
+    /**
+     * Check if a row is full
+     * @param row the index of the row
+     * @return true if no other card can be placed on the row and false otherwise
+     */
+    public boolean isRowFull(final int row) {
+        return rowSizes[row] == TABLE_MAX_COLS;
+    }
+
+    /**
+     * Check if there is a tank card on a row
+     * @param row the index of the row
+     * @return true if at least one card on the row is tank type and false otherwise
+     */
+    public boolean hasTank(final int row) {
+        return tankCounts[row] > 0;
+    }
+
+    /**
+     * Change the health of a card on the table
+     * @param row the index of the row
+     * @param col the index of the card on the row
+     * @param health the new health of the card
+     */
+    public void setHealth(final int row, final int col, final int health) {
+        Card card = get(row, col);
+        int oldHealth = card.getHealth();
+        if (journal != null) {
+            journal.record(MoveJournal.SET_HEALTH, this, row, col, oldHealth, null);
+        }
+        card.setHealth(health);
+        updateMax(HEALTH, row, col, oldHealth, health);
+        rowVersions[row]++;
+    }
+
+    /**
+     * Change the attack of a card on the table
+     * @param row the index of the row
+     * @param col the index of the card on the row
+     * @param attackDamage the new attack of the card
+     */
+    public void setAttackDamage(final int row, final int col, final int attackDamage) {
+        Card card = get(row, col);
+        int oldAttackDamage = card.getAttackDamage();
+        if (journal != null) {
+            journal.record(MoveJournal.SET_ATTACK, this, row, col, oldAttackDamage, null);
+        }
+        card.setAttackDamage(attackDamage);
+        updateMax(ATTACK, row, col, oldAttackDamage, attackDamage);
+        rowVersions[row]++;
+    }
+
+    /**
+     * Get the position of the first card with the biggest health on a row
+     * @param row the index of the row
+     * @return the index of the card on the row (0 if no card has health left)
+     */
+    public int getMaxHealthCol(final int row) {
+        return getMaxCol(HEALTH, row);
+    }
+
+    /**
+     * Get the position of the first card with the biggest attack on a row
+     * @param row the index of the row
+     * @return the index of the card on the row (0 if no card has attack)
+     */
+    public int getMaxAttackCol(final int row) {
+        return getMaxCol(ATTACK, row);
+    }
+
+    /**
+     * Check if the card at a position is frozen
+     * @param row the index of the row
+     * @param col the index of the card on the row
+     * @return true if the card is frozen and false otherwise
+     */
+    public boolean isFrozen(final int row, final int col) {
+        return (frozen & (1 << (row * TABLE_MAX_COLS + col))) != 0;
+    }
+
+    /**
+     * Freeze the card at a position
+     * @param row the index of the row
+     * @param col the index of the card on the row
+     * @throws IndexOutOfBoundsException if there is no card at that position
+     */
+    public void freeze(final int row, final int col) {
+        get(row, col);
+        if (journal != null) {
+            journal.record(MoveJournal.SET_FROZEN, this, 0, 0, frozen, null);
+        }
+        frozen |= 1 << (row * TABLE_MAX_COLS + col);
+        rowVersions[row]++;
+    }
+
+    /**
+     * Unfreeze all the cards on some consecutive rows
+     * @param firstRow the index of the first row
+     * @param lastRow the index of the last row
+     */
+    public void unfreezeRows(final int firstRow, final int lastRow) {
+        int rows = lastRow - firstRow + 1;
+        if (journal != null) {
+            journal.record(MoveJournal.SET_FROZEN, this, 0, 0, frozen, null);
+        }
+        frozen &= ~(((1 << (rows * TABLE_MAX_COLS)) - 1) << (firstRow * TABLE_MAX_COLS));
+        for (int row = firstRow; row <= lastRow; row++) {
+            rowVersions[row]++;
+        }
+    }
+
+    /**
+     * Get the frozen cards, in the order of the table
+     * @return an array list of frozen cards
+     */
+    public ArrayList<Card> getFrozenCards() {
+        ArrayList<Card> frozenCards = new ArrayList<>(Integer.bitCount(frozen));
+        for (int bits = frozen; bits != 0; bits &= bits - 1) {
+            frozenCards.add(cards[Integer.numberOfTrailingZeros(bits)]);
+        }
+        return frozenCards;
+    }
+
+    /**
+     * Mark the card at a position as having attacked or used its ability in this turn
+     * @param row the index of the row
+     * @param col the index of the card on the row
+     */
+    public void setActed(final int row, final int col) {
+        Card card = get(row, col);
+        if (journal != null) {
+            journal.record(MoveJournal.SET_ACTED, this, row, col, card.getActedTurn(), null);
+        }
+        card.setActed(turn);
+        rowVersions[row]++;
+    }
+
+    /**
+     * Get the version of a row
+     * @param row the index of the row
+     * @return a number that increases with every change of the row
+     */
+    public int getRowVersion(final int row) {
+        return rowVersions[row];
+    }
+
+    /**
+     * Get the Zobrist hash of the table: the cards with their health and attack, the frozen
+     * cards and the cards that acted in this turn
+     * @return the hash
+     */
+    public long getHash() {
+        long hash = 0;
+        for (int row = 0; row < TABLE_MAX_ROWS; row++) {
+            if (hashedVersions[row] != rowVersions[row]) {
+                rowHashes[row] = hashRow(row);
+                hashedVersions[row] = rowVersions[row];
+            }
+            hash ^= rowHashes[row];
+        }
+        return hash;
+    }
+
+    /**
+     * @param row the index of the row
+     * @return the exclusive or of the keys of the cards on the row
+     */
+    private long hashRow(final int row) {
+        long hash = 0;
+        for (int col = 0; col < rowSizes[row]; col++) {
+            int slot = row * TABLE_MAX_COLS + col;
+            hash ^= Zobrist.cardKey(slot, cards[slot], isFrozen(row, col),
+                    cards[slot].hasActed(turn));
+        }
+        return hash;
+    }
+
+    /**
+     * Getter for turn member
+     * @return the number of the current turn, starting from 1
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Start a new turn: the cards that acted in the previous turns can act again
+     */
+    public void nextTurn() {
+        if (journal != null) {
+            journal.record(MoveJournal.NEXT_TURN, this, 0, 0, 0, null);
+        }
+        turn++;
+        touchAllRows();
+    }
+
+    /**
+     * Go back to the previous turn, to take back nextTurn
+     */
+    void previousTurn() {
+        turn--;
+        touchAllRows();
+    }
+
+    /**
+     * Increase the versions of all the rows
+     */
+    private void touchAllRows() {
+        for (int row = 0; row < TABLE_MAX_ROWS; row++) {
+            rowVersions[row]++;
+        }
+    }
+
+    /**
+     * Setter for journal member
+     * @param journal the journal where the changes are recorded, or null to record nothing
+     */
+    public void setJournal(final MoveJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Set the turn a card acted in, to take back setActed
+     * @param row the index of the row
+     * @param col the index of the card on the row
+     * @param actedTurn the turn the card acted in before
+     */
+    void restoreActed(final int row, final int col, final int actedTurn) {
+        get(row, col).setActed(actedTurn);
+        rowVersions[row]++;
+    }
+
+    /**
+     * Set the frozen cards, to take back freeze and unfreezeRows
+     * @param frozenBits the bit set of the frozen positions before the change
+     */
+    void restoreFrozen(final int frozenBits) {
+        frozen = frozenBits;
+        touchAllRows();
+    }
+
+    /**
+     * Put a card back at a position of a row, the cards from that position are moved one
+     * position to the right; takes back remove
+     * @param row the index of the row
+     * @param col the position where the card was
+     * @param card the card
+     * @param wasFrozen true if the card was frozen
+     */
+    void insert(final int row, final int col, final Card card, final boolean wasFrozen) {
+        int start = row * TABLE_MAX_COLS;
+        int size = rowSizes[row];
+        System.arraycopy(cards, start + col, cards, start + col + 1, size - col);
+        cards[start + col] = card;
+
+        int rowBits = (frozen >>> start) & ROW_MASK;
+        int shifted = (rowBits & ((1 << col) - 1)) | ((rowBits >>> col) << (col + 1));
+        if (wasFrozen) {
+            shifted |= 1 << col;
+        }
+        frozen = (frozen & ~(ROW_MASK << start)) | (shifted << start);
+
+        rowSizes[row]++;
+        if (card.isTank()) {
+            tankCounts[row]++;
+        }
+        staleRows[HEALTH] |= 1 << row;
+        staleRows[ATTACK] |= 1 << row;
+        rowVersions[row]++;
+        assert tankCountMatches(row);
+    }
+
+    /**
+     * Place a card at the end of a row
+     * @param row the index of the row
+     * @param card the card that will be placed
+     * @throws IllegalStateException if the row is full
+     */
+    public void add(final int row, final Card card) {
+        if (isRowFull(row)) {
+            throw new IllegalStateException("Row " + row + " is full.");
+        }
+        cards[row * TABLE_MAX_COLS + rowSizes[row]] = card;
+        rowSizes[row]++;
+        if (card.isTank()) {
+            tankCounts[row]++;
+        }
+        updateMax(HEALTH, row, rowSizes[row] - 1, 0, card.getHealth());
+        updateMax(ATTACK, row, rowSizes[row] - 1, 0, card.getAttackDamage());
+        rowVersions[row]++;
+        if (journal != null) {
+            journal.record(MoveJournal.ADD, this, row, 0, 0, null);
+        }
+        assert tankCountMatches(row);
+    }
+
+    /**
+     * Remove a card from a row, the cards after it are moved one position to the left
+     * @param row the index of the row
+     * @param col the index of the card on the row
+     * @return the card that was removed
+     */
+    public Card remove(final int row, final int col) {
+        Card card = get(row, col);
+        int start = row * TABLE_MAX_COLS;
+        int size = rowSizes[row];
+        if (journal != null) {
+            journal.record(MoveJournal.REMOVE, this, row, col, isFrozen(row, col) ? 1 : 0,
+                    card);
+        }
+
+        System.arraycopy(cards, start + col + 1, cards, start + col, size - col - 1);
+        cards[start + size - 1] = null;
+
+        int rowBits = (frozen >>> start) & ROW_MASK;
+        int shifted = (rowBits & ((1 << col) - 1)) | ((rowBits >>> (col + 1)) << col);
+        frozen = (frozen & ~(ROW_MASK << start)) | (shifted << start);
+
+        rowSizes[row]--;
+        if (card.isTank()) {
+            tankCounts[row]--;
+        }
+        removeMax(HEALTH, row, col);
+        removeMax(ATTACK, row, col);
+        rowVersions[row]++;
+        assert tankCountMatches(row);
+        return card;
+    }
+
+    /**
+     * Move a card to the end of another row, the card stays frozen if it was frozen
+     * @param row the index of the row of the card
+     * @param col the index of the card on the row
+     * @param newRow the index of the row where the card is moved
+     * @throws IllegalStateException if the new row is full
+     */
+    public void move(final int row, final int col, final int newRow) {
+        if (isRowFull(newRow)) {
+            throw new IllegalStateException("Row " + newRow + " is full.");
+        }
+        boolean wasFrozen = isFrozen(row, col);
+        add(newRow, remove(row, col));
+        if (wasFrozen) {
+            freeze(newRow, rowSizes[newRow] - 1);
+        }
+    }
+
+    /**
+     * Remove the cards that have no health left from a row, keeping the order of the others
+     * @param row the index of the row
+     */
+    public void removeDeadCards(final int row) {
+        int start = row * TABLE_MAX_COLS;
+        int size = rowSizes[row];
+        int rowBits = (frozen >>> start) & ROW_MASK;
+        int keptBits = 0;
+        int kept = 0;
+
+        if (journal != null) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (cards[start + i].getHealth() <= 0) {
+                    journal.record(MoveJournal.REMOVE, this, row, i, (rowBits >>> i) & 1,
+                            cards[start + i]);
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            Card card = cards[start + i];
+            if (card.getHealth() > 0) {
+                cards[start + kept] = card;
+                keptBits |= ((rowBits >>> i) & 1) << kept;
+                kept++;
+            } else if (card.isTank()) {
+                tankCounts[row]--;
+            }
+        }
+
+        for (int i = kept; i < size; i++) {
+            cards[start + i] = null;
+        }
+        if (kept < size) {
+            staleRows[HEALTH] |= 1 << row;
+            staleRows[ATTACK] |= 1 << row;
+            rowVersions[row]++;
+        }
+        rowSizes[row] = kept;
+        frozen = (frozen & ~(ROW_MASK << start)) | (keptBits << start);
+        assert tankCountMatches(row);
+    }
+
+    /**
+     * Update the strongest card of a row after the health or the attack of a card was changed.
+     * A card that becomes stronger than the strongest card, or as strong but placed before it,
+     * takes its place; if the strongest card becomes weaker, it is found again when it is needed
+     * @param stat HEALTH or ATTACK
+     * @param row the index of the row
+     * @param col the index of the card on the row
+     * @param oldValue the value of the card before the change
+     * @param newValue the value of the card after the change
+     */
+    private void updateMax(final int stat, final int row, final int col,
+                           final int oldValue, final int newValue) {
+        if ((staleRows[stat] & (1 << row)) != 0) {
+            return;
+        }
+
+        if (newValue > maxValues[stat][row]
+                || (newValue > 0 && newValue == maxValues[stat][row]
+                && col < maxCols[stat][row])) {
+            maxCols[stat][row] = col;
+            maxValues[stat][row] = newValue;
+        } else if (col == maxCols[stat][row] && newValue < oldValue) {
+            staleRows[stat] |= 1 << row;
+        }
+    }
+
+    /**
+     * Update the strongest card of a row after a card was removed from it
+     * @param stat HEALTH or ATTACK
+     * @param row the index of the row
+     * @param col the index the card had on the row
+     */
+    private void removeMax(final int stat, final int row, final int col) {
+        if (col < maxCols[stat][row]) {
+            maxCols[stat][row]--;
+        } else if (col == maxCols[stat][row]) {
+            staleRows[stat] |= 1 << row;
+        }
+    }
+
+    /**
+     * Get the position of the strongest card of a row, finding it again if it is not known
+     * @param stat HEALTH or ATTACK
+     * @param row the index of the row
+     * @return the index of the first card with the biggest value (0 if no card has a value
+     *         bigger than 0)
+     */
+    private int getMaxCol(final int stat, final int row) {
+        if ((staleRows[stat] & (1 << row)) != 0) {
+            maxCols[stat][row] = scanMaxCol(stat, row);
+            maxValues[stat][row] = 0;
+            if (maxCols[stat][row] < rowSizes[row]) {
+                maxValues[stat][row] = Math.max(statOf(stat,
+                        cards[row * TABLE_MAX_COLS + maxCols[stat][row]]), 0);
+            }
+            staleRows[stat] &= ~(1 << row);
+        }
+        assert maxCols[stat][row] == scanMaxCol(stat, row);
+        return maxCols[stat][row];
+    }
+
+    /**
+     * Find the strongest card of a row by scanning it, as the abilities did before the board
+     * kept its position
+     * @param stat HEALTH or ATTACK
+     * @param row the index of the row
+     * @return the index of the first card with the biggest value (0 if no card has a value
+     *         bigger than 0)
+     */
+    private int scanMaxCol(final int stat, final int row) {
+        int maxValue = 0;
+        int maxCol = 0;
+        for (int i = 0; i < rowSizes[row]; i++) {
+            int value = statOf(stat, cards[row * TABLE_MAX_COLS + i]);
+            if (value > maxValue) {
+                maxCol = i;
+                maxValue = value;
+            }
+        }
+        return maxCol;
+    }
+
+    /**
+     * @param stat HEALTH or ATTACK
+     * @param card the card
+     * @return the health or the attack of the card
+     */
+    private static int statOf(final int stat, final Card card) {
+        if (stat == HEALTH) {
+            return card.getHealth();
+        }
+        return card.getAttackDamage();
+    }
+
+    /**
+     * Count the tank cards of a row by scanning it, as the check was done before the
+     * counters, and compare the result with the counter of the row
+     * @param row the index of the row
+     * @return true if the counter is equal to the number of tank cards on the row
+     */
+    private boolean tankCountMatches(final int row) {
+        int tanks = 0;
+        for (int i = 0; i < rowSizes[row]; i++) {
+            if (cards[row * TABLE_MAX_COLS + i].isTank()) {
+                tanks++;
+            }
+        }
+        return tanks == tankCounts[row];
+    }
+
+    static final int TABLE_MAX_ROWS = 4;
+    static final int TABLE_MAX_COLS = 5;
+    static final int ROW_MASK = (1 << TABLE_MAX_COLS) - 1;
+    static final int HEALTH = 0;
+    static final int ATTACK = 1;
+    static final int STATS = 2;
+}
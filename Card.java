@@ -2,220 +2,124 @@ package main;
 
 import fileio.CardInput;
 
-import java.util.ArrayList;
+import java.util.List;
 
 public final class Card {
-    private int mana;
+    private final CardDefinition definition;
     private int attackDamage;
     private int health;
-    private String description;
-    private ArrayList<String> colors;
-    private String name;
-    private boolean isFrozen;
-    private boolean isEnvironmentType;
-    private boolean isHeroType;
-    private boolean isBackRow;
-    private boolean isFrontRow;
-    private boolean isTank;
-    private boolean hasAttacked;
-    private boolean usedAbility;
+    private int actedTurn;
 
     /**
      * Constructor for class Card
-     * @param card contains the card information extracted from input
-     */
-    public Card(final CardInput card) {
-        this.mana = card.getMana();
-        this.attackDamage = card.getAttackDamage();
-        this.health = card.getHealth();
-        this.description = card.getDescription();
-        this.colors = card.getColors();
-        this.name = card.getName();
-        this.isEnvironmentType = false;
-        this.isHeroType = false;
-        this.isBackRow = false;
-        this.isFrontRow = false;
-        this.isTank = false;
-        this.hasAttacked = false;
-        this.usedAbility = false;
-
-        if (card.getName().equals("Lord Royce") || card.getName().equals("Empress Thorina")
-                || card.getName().equals("King Mudface")
-                || card.getName().equals("General Kocioraw")) {
-
-            setHeroType(true);
-            setHeroCard();
-        }
-
-        if (card.getName().equals("Firestorm") || card.getName().equals("Winterfell")
-                || card.getName().equals("Heart Hound")) {
-            setEnvironmentType(true);
-            setEnvironmentCard();
-        }
-
-        if (card.getName().equals("Sentinel") || card.getName().equals("Berserker")) {
-            setBackRow(true);
-        }
-
-        if (card.getName().equals("Goliath") || card.getName().equals("Warden")) {
-            setFrontRow(true);
-            setTank(true);
-        }
-
-        if (card.getName().equals("The Cursed One") || card.getName().equals("Disciple")) {
-            setAttackDamage(0);
-            setBackRow(true);
-        }
-
-        if (card.getName().equals("The Ripper") || card.getName().equals("Miraj")) {
-            setFrontRow(true);
-        }
-    }
-
-    /**
-     * Getter for hasAttacked member
-     * @return true if the card has attacked and false otherwise
-     */
-    public boolean isHasAttacked() {
-        return hasAttacked;
-    }
-
-    /**
-     * Setter for hasAttacked member
-     * @param hasAttacked boolean
-     */
-    public void setHasAttacked(final boolean hasAttacked) {
-        this.hasAttacked = hasAttacked;
-    }
-
-    /**
-     * Getter for usedAbility member
-     * @return true if the card has used its ability and false otherwise
-     */
-    public boolean isUsedAbility() {
-        return usedAbility;
-    }
-
-    /**
-     * Setter for usedAbility member
-     * @param usedAbility boolean
+     * @param definition the static data of the card, shared with the other cards
+     *                   built from the same input card
      */
-    public void setUsedAbility(final boolean usedAbility) {
-        this.usedAbility = usedAbility;
+    public Card(final CardDefinition definition) {
+        this.definition = definition;
+        this.attackDamage = definition.getAttackDamage();
+        this.health = definition.getHealth();
+        this.actedTurn = 0;
     }
 
     /**
-     * Getter for isTank member
-     * @return true if the card is tank type and false otherwise
+     * Copy constructor for class Card, the definition is shared with the copied card
+     * @param card the card that will be copied
      */
-    public boolean isTank() {
-        return isTank;
+    public Card(final Card card) {
+        this.definition = card.definition;
+        this.attackDamage = card.attackDamage;
+        this.health = card.health;
+        this.actedTurn = card.actedTurn;
     }
 
     /**
-     * Setter for isTank member
-     * @param tank boolean
+     * Constructor for class Card
+     * @param card contains the card information extracted from input
      */
-    public void setTank(final boolean tank) {
-        isTank = tank;
+    public Card(final CardInput card) {
+        this(CardDefinition.of(card));
     }
 
     /**
-     * Getter for isBackRow member
-     * @return true if the card can be placed on the back row and false otherwise
+     * Getter for definition member
+     * @return the static data of the card
      */
-    public boolean isBackRow() {
-        return isBackRow;
+    public CardDefinition getDefinition() {
+        return definition;
     }
 
     /**
-     * Setter for isBackRow member
-     * @param backRow boolean
+     * Getter for the archetype of the card
+     * @return the rules shared by all the cards with the same name
      */
-    public void setBackRow(final boolean backRow) {
-        isBackRow = backRow;
+    public CardArchetype getArchetype() {
+        return definition.getArchetype();
     }
 
     /**
-     * Getter for isFrontRow member
-     * @return true if the card can be placed on the front row and false otherwise
+     * Check if the card has attacked or used its ability in a turn
+     * @param turn the number of the turn
+     * @return true if the card has acted in that turn and false otherwise
      */
-    public boolean isFrontRow() {
-        return isFrontRow;
+    public boolean hasActed(final int turn) {
+        return actedTurn == turn;
     }
 
     /**
-     * Setter for frontRow member
-     * @param frontRow boolean
+     * Getter for actedTurn member
+     * @return the last turn the card attacked or used its ability in, 0 if it never did
      */
-    public void setFrontRow(final boolean frontRow) {
-        isFrontRow = frontRow;
+    public int getActedTurn() {
+        return actedTurn;
     }
 
     /**
-     * Sets details for a hero type card
+     * Mark the card as having attacked or used its ability
+     * @param turn the number of the current turn
      */
-    public void setHeroCard() {
-        setHealth(HERO_INITIAL_HEALTH);
-        setAttackDamage(0);
-        setFrozen(false);
+    public void setActed(final int turn) {
+        this.actedTurn = turn;
     }
 
     /**
-     * Sets details for an environment type card
+     * Check the tank flag of the card's archetype
+     * @return true if the card is tank type and false otherwise
      */
-    public void setEnvironmentCard() {
-        setHealth(0);
-        setAttackDamage(0);
-        setFrozen(false);
+    public boolean isTank() {
+        return getArchetype().isTank();
     }
 
     /**
-     * Setter for isEnvironmentType member
-     * @param environmentType boolean
+     * Check the row of the card's archetype
+     * @return true if the card can be placed on the back row and false otherwise
      */
-    public void setEnvironmentType(final boolean environmentType) {
-        isEnvironmentType = environmentType;
+    public boolean isBackRow() {
+        return getArchetype().getRow() == CardArchetype.Row.BACK;
     }
 
     /**
-     * Setter for isHeroType member
-     * @param heroType boolean
+     * Check the row of the card's archetype
+     * @return true if the card can be placed on the front row and false otherwise
      */
-    public void setHeroType(final boolean heroType) {
-        isHeroType = heroType;
+    public boolean isFrontRow() {
+        return getArchetype().getRow() == CardArchetype.Row.FRONT;
     }
 
     /**
-     * Getter for isEnvironmentType member
+     * Check the type of the card's archetype
      * @return true if the card is environment type and false otherwise
      */
     public boolean isEnvironmentType() {
-        return isEnvironmentType;
+        return getArchetype().getType() == CardArchetype.Type.ENVIRONMENT;
     }
 
     /**
-     * Getter for isHeroType member
+     * Check the type of the card's archetype
      * @return true if the card is hero type and false otherwise
      */
     public boolean isHeroType() {
-        return isHeroType;
-    }
-
-    /**
-     * Getter for isFrozen member
-     * @return true if the card is frozen and false otherwise
-     */
-    public boolean isFrozen() {
-        return isFrozen;
-    }
-
-    /**
-     * Setter for isFrozen member
-     * @param frozen boolean
-     */
-    public void setFrozen(final boolean frozen) {
-        isFrozen = frozen;
+        return getArchetype().getType() == CardArchetype.Type.HERO;
     }
 
     /**
@@ -223,15 +127,7 @@ public final class Card {
      * @return amount of mana the card has
      */
     public int getMana() {
-        return mana;
-    }
-
-    /**
-     * Setter for mana member
-     * @param mana int number
-     */
-    public void setMana(final int mana) {
-        this.mana = mana;
+        return definition.getMana();
     }
 
     /**
@@ -271,31 +167,15 @@ public final class Card {
      * @return description of the card
      */
     public String getDescription() {
-        return description;
-    }
-
-    /**
-     * Setter for description member
-     * @param description string
-     */
-    public void setDescription(final String description) {
-        this.description = description;
+        return definition.getDescription();
     }
 
     /**
      * Getter for colors member
      * @return the colors the card has
      */
-    public ArrayList<String> getColors() {
-        return colors;
-    }
-
-    /**
-     * Setter for colors member
-     * @param colors arraylist of strings
-     */
-    public void setColors(final ArrayList<String> colors) {
-        this.colors = colors;
+    public List<String> getColors() {
+        return definition.getColors();
     }
 
     /**
@@ -303,34 +183,26 @@ public final class Card {
      * @return the name of the card
      */
     public String getName() {
-        return name;
-    }
-
-    /**
-     * Setter for name member
-     * @param name string
-     */
-    public void setName(final String name) {
-        this.name = name;
+        return definition.getName();
     }
 
     @Override
     public String toString() {
         return "CardInput{"
                 + "mana="
-                + mana
+                + getMana()
                 + ", attackDamage="
                 + attackDamage
                 + ", health="
                 + health
                 + ", description='"
-                + description
+                + getDescription()
                 + '\''
                 + ", colors="
-                + colors
+                + getColors()
                 + ", name='"
                 + ""
-                + name
+                + getName()
                 + '\''
                 + '}';
     }
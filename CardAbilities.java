@@ -0,0 +1,169 @@
+package main;
+
+/**
+ * The abilities of the cards of the game, registered in CardArchetype
+ */
+public final class CardAbilities {
+    /**
+     * for coding style
+     */
+    private CardAbilities() {
+    }
+
+    /**
+     * Disciple: +2 health for a card of the current player
+     * @param board the table where the cards are placed
+     * @param cardAttacker the card that uses the ability
+     * @param cardAttacked the card on which the ability is used
+     */
+    public static void disciple(final Board board, final Position cardAttacker,
+                                final Position cardAttacked) {
+        Card attacked = board.get(cardAttacked.getX(), cardAttacked.getY());
+        board.setHealth(cardAttacked.getX(), cardAttacked.getY(), attacked.getHealth() + 2);
+    }
+
+    /**
+     * The Ripper: -2 attack for a card of the enemy
+     * @param board the table where the cards are placed
+     * @param cardAttacker the card that uses the ability
+     * @param cardAttacked the card on which the ability is used
+     */
+    public static void theRipper(final Board board, final Position cardAttacker,
+                                 final Position cardAttacked) {
+        Card attacked = board.get(cardAttacked.getX(), cardAttacked.getY());
+        board.setAttackDamage(cardAttacked.getX(), cardAttacked.getY(),
+                Math.max(attacked.getAttackDamage() - 2, 0));
+    }
+
+    /**
+     * Miraj: swaps its health with the health of a card of the enemy
+     * @param board the table where the cards are placed
+     * @param cardAttacker the card that uses the ability
+     * @param cardAttacked the card on which the ability is used
+     */
+    public static void miraj(final Board board, final Position cardAttacker,
+                             final Position cardAttacked) {
+        Card attacked = board.get(cardAttacked.getX(), cardAttacked.getY());
+        Card attacker = board.get(cardAttacker.getX(), cardAttacker.getY());
+        int attackedHealth = attacked.getHealth();
+        board.setHealth(cardAttacked.getX(), cardAttacked.getY(), attacker.getHealth());
+        board.setHealth(cardAttacker.getX(), cardAttacker.getY(), attackedHealth);
+    }
+
+    /**
+     * The Cursed One: swaps the health and the attack of a card of the enemy,
+     * the card is destroyed if its health becomes 0
+     * @param board the table where the cards are placed
+     * @param cardAttacker the card that uses the ability
+     * @param cardAttacked the card on which the ability is used
+     */
+    public static void theCursedOne(final Board board, final Position cardAttacker,
+                                    final Position cardAttacked) {
+        Card attacked = board.get(cardAttacked.getX(), cardAttacked.getY());
+        int health = attacked.getHealth();
+        int attackDamage = attacked.getAttackDamage();
+        board.setHealth(cardAttacked.getX(), cardAttacked.getY(), attackDamage);
+        board.setAttackDamage(cardAttacked.getX(), cardAttacked.getY(), health);
+        if (attackDamage == 0) {
+            board.remove(cardAttacked.getX(), cardAttacked.getY());
+        }
+    }
+
+    /**
+     * Lord Royce: freezes the card with the biggest attack on the row, an empty row
+     * is left as it is
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     */
+    public static void lordRoyce(final Board board, final int affectedRow) {
+        if (board.getRowSize(affectedRow) == 0) {
+            return;
+        }
+        board.freeze(affectedRow, board.getMaxAttackCol(affectedRow));
+    }
+
+    /**
+     * Empress Thorina: destroys the card with the biggest health on the row, an empty row
+     * is left as it is
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     */
+    public static void empressThorina(final Board board, final int affectedRow) {
+        if (board.getRowSize(affectedRow) == 0) {
+            return;
+        }
+        board.remove(affectedRow, board.getMaxHealthCol(affectedRow));
+    }
+
+    /**
+     * General Kocioraw: +1 attack for all the cards on the row
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     */
+    public static void generalKocioraw(final Board board, final int affectedRow) {
+        for (int i = 0; i < board.getRowSize(affectedRow); i++) {
+            board.setAttackDamage(affectedRow, i, board.get(affectedRow, i).getAttackDamage() + 1);
+        }
+    }
+
+    /**
+     * King Mudface: +1 health for all the cards on the row
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     */
+    public static void kingMudface(final Board board, final int affectedRow) {
+        for (int i = 0; i < board.getRowSize(affectedRow); i++) {
+            board.setHealth(affectedRow, i, board.get(affectedRow, i).getHealth() + 1);
+        }
+    }
+
+    /**
+     * Firestorm: -1 health for all the cards on the row, the dead cards are removed
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     */
+    public static void firestorm(final Board board, final int affectedRow) {
+        for (int i = 0; i < board.getRowSize(affectedRow); i++) {
+            board.setHealth(affectedRow, i, board.get(affectedRow, i).getHealth() - 1);
+        }
+        board.removeDeadCards(affectedRow);
+    }
+
+    /**
+     * Winterfell: freezes all the cards on the row
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     */
+    public static void winterfell(final Board board, final int affectedRow) {
+        for (int i = 0; i < board.getRowSize(affectedRow); i++) {
+            board.freeze(affectedRow, i);
+        }
+    }
+
+    /**
+     * Heart Hound: can only be used if the mirrored row of the current player is not full
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that would be affected
+     * @return null if the card can be stolen, or the error message otherwise
+     */
+    public static String canStealCard(final Board board, final int affectedRow) {
+        if (board.isRowFull(Player.PLAYER_ONE_BACK_ROW - affectedRow)) {
+            return "Cannot steal enemy card since the player's row is full.";
+        }
+        return null;
+    }
+
+    /**
+     * Heart Hound: steals the card with the biggest health on the row and places it
+     * on the mirrored row of the current player, an empty row is left as it is
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     */
+    public static void heartHound(final Board board, final int affectedRow) {
+        if (board.getRowSize(affectedRow) == 0) {
+            return;
+        }
+        board.move(affectedRow, board.getMaxHealthCol(affectedRow),
+                Player.PLAYER_ONE_BACK_ROW - affectedRow);
+    }
+}
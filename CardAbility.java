@@ -0,0 +1,12 @@
+package main;
+
+@FunctionalInterface
+public interface CardAbility {
+    /**
+     * Use the ability of a minion on a card from the table
+     * @param board the table where the cards are placed
+     * @param cardAttacker the card that uses the ability
+     * @param cardAttacked the card on which the ability is used
+     */
+    void apply(Board board, Position cardAttacker, Position cardAttacked);
+}
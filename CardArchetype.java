@@ -0,0 +1,269 @@
+package main;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The immutable rules of a card, shared by all the cards that have the same name:
+ * its type, the row where it is placed, whether it is a tank and its ability.
+ * The archetype of a card is resolved once, when the card is built.
+ */
+public final class CardArchetype {
+    /**
+     * The kind of a card
+     */
+    public enum Type {
+        MINION,
+        HERO,
+        ENVIRONMENT
+    }
+
+    /**
+     * The row of the player where a minion is placed
+     */
+    public enum Row {
+        NONE,
+        FRONT,
+        BACK
+    }
+
+    /**
+     * Whose cards or rows the ability of a card can be used on
+     */
+    public enum Target {
+        NONE,
+        CURRENT_PLAYER,
+        ENEMY
+    }
+
+    private static final Map<String, CardArchetype> ARCHETYPES = new ConcurrentHashMap<>();
+
+    /**
+     * The archetype of the cards whose name is not registered
+     */
+    public static final CardArchetype DEFAULT = new CardArchetype(null, Type.MINION, Row.NONE,
+            false, true, Target.NONE, null, null, null);
+
+    static {
+        register(minion("Sentinel", Row.BACK, false, true));
+        register(minion("Berserker", Row.BACK, false, true));
+        register(minion("Goliath", Row.FRONT, true, true));
+        register(minion("Warden", Row.FRONT, true, true));
+        register(minion("The Ripper", Row.FRONT, false, true)
+                .withAbility(Target.ENEMY, CardAbilities::theRipper));
+        register(minion("Miraj", Row.FRONT, false, true)
+                .withAbility(Target.ENEMY, CardAbilities::miraj));
+        register(minion("The Cursed One", Row.BACK, false, false)
+                .withAbility(Target.ENEMY, CardAbilities::theCursedOne));
+        register(minion("Disciple", Row.BACK, false, false)
+                .withAbility(Target.CURRENT_PLAYER, CardAbilities::disciple));
+
+        register(hero("Lord Royce", Target.ENEMY, CardAbilities::lordRoyce));
+        register(hero("Empress Thorina", Target.ENEMY, CardAbilities::empressThorina));
+        register(hero("King Mudface", Target.CURRENT_PLAYER, CardAbilities::kingMudface));
+        register(hero("General Kocioraw", Target.CURRENT_PLAYER,
+                CardAbilities::generalKocioraw));
+
+        register(environment("Firestorm", CardAbilities::firestorm));
+        register(environment("Winterfell", CardAbilities::winterfell));
+        register(environment("Heart Hound", CardAbilities::canStealCard,
+                CardAbilities::heartHound));
+    }
+
+    private final String name;
+    private final Type type;
+    private final Row row;
+    private final boolean tank;
+    private final boolean attacks;
+    private final Target target;
+    private final CardAbility cardAbility;
+    private final RowCheck rowCheck;
+    private final RowAbility rowAbility;
+
+    private CardArchetype(final String name, final Type type, final Row row, final boolean tank,
+                          final boolean attacks, final Target target,
+                          final CardAbility cardAbility, final RowCheck rowCheck,
+                          final RowAbility rowAbility) {
+        this.name = name;
+        this.type = type;
+        this.row = row;
+        this.tank = tank;
+        this.attacks = attacks;
+        this.target = target;
+        this.cardAbility = cardAbility;
+        this.rowCheck = rowCheck;
+        this.rowAbility = rowAbility;
+    }
+
+    /**
+     * Create the archetype of a minion without ability
+     * @param name the name of the card
+     * @param row the row where the card is placed
+     * @param tank true if the card is tank type
+     * @param attacks false if the attack of the card is always 0
+     * @return the archetype
+     */
+    public static CardArchetype minion(final String name, final Row row, final boolean tank,
+                                       final boolean attacks) {
+        return new CardArchetype(name, Type.MINION, row, tank, attacks, Target.NONE, null, null,
+                null);
+    }
+
+    /**
+     * Create the archetype of a hero
+     * @param name the name of the card
+     * @param target whose rows the ability can be used on
+     * @param ability the ability of the hero
+     * @return the archetype
+     */
+    public static CardArchetype hero(final String name, final Target target,
+                                     final RowAbility ability) {
+        return new CardArchetype(name, Type.HERO, Row.NONE, false, false, target, null, null,
+                ability);
+    }
+
+    /**
+     * Create the archetype of an environment card, that can only be used on enemy rows
+     * @param name the name of the card
+     * @param ability the effect of the card
+     * @return the archetype
+     */
+    public static CardArchetype environment(final String name, final RowAbility ability) {
+        return environment(name, null, ability);
+    }
+
+    /**
+     * Create the archetype of an environment card whose effect can refuse some rows
+     * @param name the name of the card
+     * @param check the rows the effect can be used on, after the checks of all the
+     *              environment cards
+     * @param ability the effect of the card
+     * @return the archetype
+     */
+    public static CardArchetype environment(final String name, final RowCheck check,
+                                            final RowAbility ability) {
+        return new CardArchetype(name, Type.ENVIRONMENT, Row.NONE, false, false, Target.ENEMY,
+                null, check, ability);
+    }
+
+    /**
+     * Create a copy of this minion archetype that has an ability
+     * @param abilityTarget whose cards the ability can be used on
+     * @param ability the ability of the minion
+     * @return the new archetype
+     */
+    public CardArchetype withAbility(final Target abilityTarget, final CardAbility ability) {
+        return new CardArchetype(name, type, row, tank, attacks, abilityTarget, ability,
+                rowCheck, rowAbility);
+    }
+
+    /**
+     * Register an archetype, replacing the one with the same name if there is one
+     * @param archetype the archetype to be registered
+     */
+    public static void register(final CardArchetype archetype) {
+        ARCHETYPES.put(archetype.getName(), archetype);
+    }
+
+    /**
+     * Find the archetype of a card
+     * @param name the name of the card
+     * @return the registered archetype, or the default one if the name is unknown
+     */
+    public static CardArchetype forName(final String name) {
+        if (name == null) {
+            return DEFAULT;
+        }
+        return ARCHETYPES.getOrDefault(name, DEFAULT);
+    }
+
+    /**
+     * Getter for name member
+     * @return the name of the card
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for type member
+     * @return the type of the card
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Getter for row member
+     * @return the row where the card is placed
+     */
+    public Row getRow() {
+        return row;
+    }
+
+    /**
+     * Getter for tank member
+     * @return true if the card is tank type and false otherwise
+     */
+    public boolean isTank() {
+        return tank;
+    }
+
+    /**
+     * Getter for attacks member
+     * @return false if the attack of the card is always 0 and true otherwise
+     */
+    public boolean isAttacks() {
+        return attacks;
+    }
+
+    /**
+     * Getter for target member
+     * @return whose cards or rows the ability can be used on
+     */
+    public Target getTarget() {
+        return target;
+    }
+
+    /**
+     * Getter for cardAbility member
+     * @return the ability of a minion, or null if the card has none
+     */
+    public CardAbility getCardAbility() {
+        return cardAbility;
+    }
+
+    /**
+     * Getter for rowCheck member
+     * @return the check of the rows of an environment card, or null if the card can be used
+     *         on every row of the enemy
+     */
+    public RowCheck getRowCheck() {
+        return rowCheck;
+    }
+
+    /**
+     * Getter for rowAbility member
+     * @return the ability of a hero or of an environment card, or null if the card has none
+     */
+    public RowAbility getRowAbility() {
+        return rowAbility;
+    }
+
+    @Override
+    public String toString() {
+        return "CardArchetype{"
+                + "name='"
+                + name
+                + '\''
+                + ", type="
+                + type
+                + ", row="
+                + row
+                + ", tank="
+                + tank
+                + ", target="
+                + target
+                + '}';
+    }
+}
@@ -0,0 +1,173 @@
+package main;
+
+import fileio.CardInput;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The static data of a card, shared by all the cards built from the same input
+ * card. The definitions are interned, so equal input cards point to the same
+ * definition and only the per-game state is kept in every Card. Every interned
+ * definition gets a small id, used to hash the states of a game.
+ */
+public final class CardDefinition {
+    private static final Map<CardDefinition, CardDefinition> DEFINITIONS =
+            new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int mana;
+    private final int attackDamage;
+    private final int health;
+    private final String description;
+    private final List<String> colors;
+    private final String name;
+    private final CardArchetype archetype;
+    private int id;
+
+    private CardDefinition(final CardInput card) {
+        this.archetype = CardArchetype.forName(card.getName());
+        this.mana = card.getMana();
+        this.description = card.getDescription();
+        this.name = card.getName();
+
+        if (card.getColors() != null) {
+            this.colors = List.copyOf(card.getColors());
+        } else {
+            this.colors = null;
+        }
+
+        if (archetype.getType() == CardArchetype.Type.HERO) {
+            this.health = Card.HERO_INITIAL_HEALTH;
+            this.attackDamage = 0;
+        } else if (archetype.getType() == CardArchetype.Type.ENVIRONMENT) {
+            this.health = 0;
+            this.attackDamage = 0;
+        } else {
+            this.health = card.getHealth();
+            if (archetype.isAttacks()) {
+                this.attackDamage = card.getAttackDamage();
+            } else {
+                this.attackDamage = 0;
+            }
+        }
+    }
+
+    /**
+     * Get the shared definition of an input card
+     * @param card contains the card information extracted from input
+     * @return the definition, the same instance for all the equal input cards
+     */
+    public static CardDefinition of(final CardInput card) {
+        return DEFINITIONS.computeIfAbsent(new CardDefinition(card), definition -> {
+            definition.id = NEXT_ID.getAndIncrement();
+            return definition;
+        });
+    }
+
+    /**
+     * Getter for id member
+     * @return the number given to the definition when it was interned
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Getter for mana member
+     * @return amount of mana the card costs
+     */
+    public int getMana() {
+        return mana;
+    }
+
+    /**
+     * Getter for attackDamage member
+     * @return the attack the card starts with
+     */
+    public int getAttackDamage() {
+        return attackDamage;
+    }
+
+    /**
+     * Getter for health member
+     * @return the health the card starts with
+     */
+    public int getHealth() {
+        return health;
+    }
+
+    /**
+     * Getter for description member
+     * @return description of the card
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Getter for colors member
+     * @return the colors the card has
+     */
+    public List<String> getColors() {
+        return colors;
+    }
+
+    /**
+     * Getter for name member
+     * @return the name of the card
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for archetype member
+     * @return the rules shared by all the cards with the same name
+     */
+    public CardArchetype getArchetype() {
+        return archetype;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CardDefinition)) {
+            return false;
+        }
+        CardDefinition that = (CardDefinition) o;
+        return mana == that.mana && attackDamage == that.attackDamage && health == that.health
+                && Objects.equals(description, that.description)
+                && Objects.equals(colors, that.colors) && Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mana, attackDamage, health, description, colors, name);
+    }
+
+    @Override
+    public String toString() {
+        return "CardDefinition{"
+                + "mana="
+                + mana
+                + ", attackDamage="
+                + attackDamage
+                + ", health="
+                + health
+                + ", description='"
+                + description
+                + '\''
+                + ", colors="
+                + colors
+                + ", name='"
+                + name
+                + '\''
+                + '}';
+    }
+}
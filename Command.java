@@ -0,0 +1,62 @@
+package main;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public enum Command {
+    END_PLAYER_TURN("endPlayerTurn"),
+    PLACE_CARD("placeCard"),
+    CARD_USES_ATTACK("cardUsesAttack"),
+    CARD_USES_ABILITY("cardUsesAbility"),
+    USE_ATTACK_HERO("useAttackHero"),
+    USE_HERO_ABILITY("useHeroAbility"),
+    USE_ENVIRONMENT_CARD("useEnvironmentCard"),
+    GET_CARDS_IN_HAND("getCardsInHand"),
+    GET_PLAYER_DECK("getPlayerDeck"),
+    GET_CARDS_ON_TABLE("getCardsOnTable"),
+    GET_PLAYER_TURN("getPlayerTurn"),
+    GET_PLAYER_HERO("getPlayerHero"),
+    GET_CARD_AT_POSITION("getCardAtPosition"),
+    GET_PLAYER_MANA("getPlayerMana"),
+    GET_ENVIRONMENT_CARDS_IN_HAND("getEnvironmentCardsInHand"),
+    GET_FROZEN_CARDS_ON_TABLE("getFrozenCardsOnTable"),
+    GET_TOTAL_GAMES_PLAYED("getTotalGamesPlayed"),
+    GET_PLAYER_ONE_WINS("getPlayerOneWins"),
+    GET_PLAYER_TWO_WINS("getPlayerTwoWins");
+
+    private static final Map<String, Command> COMMANDS = new HashMap<>();
+
+    static {
+        for (Command command : values()) {
+            COMMANDS.put(command.getName(), command);
+        }
+    }
+
+    private final String name;
+
+    Command(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Find the command that has the given name
+     * @param name the name of the command, as it appears in the input
+     * @return the command
+     * @throws IllegalArgumentException if there is no command with that name
+     */
+    public static Command fromName(final String name) {
+        Command command = COMMANDS.get(name);
+        if (command == null) {
+            throw new IllegalArgumentException("Unknown command: " + name);
+        }
+        return command;
+    }
+
+    /**
+     * Getter for name member
+     * @return the name of the command, as it appears in the input and output
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,241 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ * Counts, for every command, how many actions were performed, how many of them ended with
+ * an error and how long they took, and how long the games took. The durations are kept in
+ * histograms with one bucket for every power of two nanoseconds, so recording is a few
+ * additions on arrays of longs and the percentiles are known within a factor of two.
+ * The metrics are recorded only if the system property ENABLED_PROPERTY is true; otherwise
+ * GamePlay does not read the clock at all. Every GamePlay records in its own instance, not
+ * shared between threads, and adds it to the global metrics after every game.
+ */
+public final class CommandMetrics {
+    private final long[] counts = new long[ROWS];
+    private final long[] errors = new long[ROWS];
+    private final long[] totalNanos = new long[ROWS];
+    private final long[] maxNanos = new long[ROWS];
+    private final long[] histograms = new long[ROWS * BUCKETS];
+
+    /**
+     * Get the metrics of all the games played in this process
+     * @return the global metrics, changed by drainTo; read them from a snapshot
+     */
+    public static CommandMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Record an action
+     * @param command the command of the action
+     * @param nanos how long the action took
+     * @param error true if the output of the action has an error
+     */
+    public void record(final Command command, final long nanos, final boolean error) {
+        record(command.ordinal(), nanos);
+        if (error) {
+            errors[command.ordinal()]++;
+        }
+    }
+
+    /**
+     * Record a game, from its start to its last action
+     * @param nanos how long the game took
+     */
+    public void recordGame(final long nanos) {
+        record(GAME_ROW, nanos);
+    }
+
+    private void record(final int row, final long nanos) {
+        counts[row]++;
+        totalNanos[row] += nanos;
+        if (nanos > maxNanos[row]) {
+            maxNanos[row] = nanos;
+        }
+        histograms[row * BUCKETS + bucket(nanos)]++;
+    }
+
+    /**
+     * Add the metrics of this instance to another one and clear this one
+     * @param other the metrics where these are added, for example the global ones
+     */
+    public void drainTo(final CommandMetrics other) {
+        synchronized (other) {
+            for (int row = 0; row < ROWS; row++) {
+                other.counts[row] += counts[row];
+                other.errors[row] += errors[row];
+                other.totalNanos[row] += totalNanos[row];
+                other.maxNanos[row] = Math.max(other.maxNanos[row], maxNanos[row]);
+            }
+            for (int i = 0; i < histograms.length; i++) {
+                other.histograms[i] += histograms[i];
+            }
+        }
+        clear();
+    }
+
+    /**
+     * Copy the metrics
+     * @return a new instance with the current values, not changed by the next records
+     */
+    public CommandMetrics snapshot() {
+        CommandMetrics snapshot = new CommandMetrics();
+        synchronized (this) {
+            System.arraycopy(counts, 0, snapshot.counts, 0, ROWS);
+            System.arraycopy(errors, 0, snapshot.errors, 0, ROWS);
+            System.arraycopy(totalNanos, 0, snapshot.totalNanos, 0, ROWS);
+            System.arraycopy(maxNanos, 0, snapshot.maxNanos, 0, ROWS);
+            System.arraycopy(histograms, 0, snapshot.histograms, 0, histograms.length);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Forget all the records
+     */
+    public synchronized void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(errors, 0);
+        Arrays.fill(totalNanos, 0);
+        Arrays.fill(maxNanos, 0);
+        Arrays.fill(histograms, 0);
+    }
+
+    /**
+     * Get the number of actions of a command
+     * @param command the command
+     * @return the number of actions recorded
+     */
+    public long getCount(final Command command) {
+        return counts[command.ordinal()];
+    }
+
+    /**
+     * Get the number of actions of a command whose output has an error
+     * @param command the command
+     * @return the number of errors recorded
+     */
+    public long getErrors(final Command command) {
+        return errors[command.ordinal()];
+    }
+
+    /**
+     * Get the time spent in the actions of a command
+     * @param command the command
+     * @return the sum of the durations, in nanoseconds
+     */
+    public long getTotalNanos(final Command command) {
+        return totalNanos[command.ordinal()];
+    }
+
+    /**
+     * Get a percentile of the durations of the actions of a command
+     * @param command the command
+     * @param percentile a number between 0 and 100
+     * @return the upper bound of the bucket of the percentile, in nanoseconds, or 0 if
+     *         the command was not recorded
+     */
+    public long getPercentile(final Command command, final double percentile) {
+        return percentile(command.ordinal(), percentile);
+    }
+
+    /**
+     * Get the number of games recorded
+     * @return the number of games
+     */
+    public long getGames() {
+        return counts[GAME_ROW];
+    }
+
+    /**
+     * Get the time spent in the games
+     * @return the sum of the durations of the games, in nanoseconds
+     */
+    public long getGameNanos() {
+        return totalNanos[GAME_ROW];
+    }
+
+    private long percentile(final int row, final double percentile) {
+        long count = counts[row];
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / PERCENT));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += histograms[row * BUCKETS + bucket];
+            if (seen >= rank) {
+                return Math.min(upperBound(bucket), maxNanos[row]);
+            }
+        }
+        return maxNanos[row];
+    }
+
+    /**
+     * Write a table with a line for every command that was recorded, the commands that
+     * took the most time first
+     * @return the table
+     */
+    public String summary() {
+        CommandMetrics snapshot = snapshot();
+        Integer[] rows = new Integer[ROWS];
+        for (int row = 0; row < ROWS; row++) {
+            rows[row] = row;
+        }
+        Arrays.sort(rows, (a, b) -> Long.compare(snapshot.totalNanos[b], snapshot.totalNanos[a]));
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-28s %10s %8s %10s %9s %9s %9s %9s%n", "command",
+                "count", "errors", "total ms", "p50 ns", "p90 ns", "p99 ns", "max ns"));
+        for (int row : rows) {
+            if (snapshot.counts[row] == 0) {
+                continue;
+            }
+            builder.append(String.format("%-28s %10d %8d %10.1f %9d %9d %9d %9d%n",
+                    rowName(row), snapshot.counts[row], snapshot.errors[row],
+                    snapshot.totalNanos[row] / NANOS_PER_MILLI,
+                    snapshot.percentile(row, P50), snapshot.percentile(row, P90),
+                    snapshot.percentile(row, P99), snapshot.maxNanos[row]));
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+
+    private static String rowName(final int row) {
+        if (row == GAME_ROW) {
+            return "(game)";
+        }
+        return Command.values()[row].getName();
+    }
+
+    /**
+     * @return the bucket of a duration: 0 for 0 ns, b for 2^(b-1) to 2^b - 1 ns
+     */
+    private static int bucket(final long nanos) {
+        return Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 0));
+    }
+
+    private static long upperBound(final int bucket) {
+        if (bucket >= Long.SIZE - 1) {
+            return Long.MAX_VALUE;
+        }
+        return (1L << bucket) - 1;
+    }
+
+    static final String ENABLED_PROPERTY = "gwentstone.metrics";
+    static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+    static final int GAME_ROW = Command.values().length;
+    static final int ROWS = GAME_ROW + 1;
+    static final int BUCKETS = Long.SIZE + 1;
+    static final double PERCENT = 100;
+    static final double P50 = 50;
+    static final double P90 = 90;
+    static final double P99 = 99;
+    static final double NANOS_PER_MILLI = 1e6;
+    private static final CommandMetrics GLOBAL = new CommandMetrics();
+}
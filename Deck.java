@@ -0,0 +1,137 @@
+package main;
+
+import java.util.AbstractList;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.RandomAccess;
+
+/**
+ * The cards left in the deck of a player. The cards are kept in an array and a cursor
+ * points to the top of the deck, so drawing a card does not move the other cards.
+ * The deck is also a read-only list of the cards left, in the order they will be drawn.
+ * The Zobrist hash of the deck is updated by every card drawn or put back.
+ */
+public final class Deck extends AbstractList<Card> implements RandomAccess {
+    private final Card[] cards;
+    private int head;
+    private long hash;
+    private MoveJournal journal;
+
+    /**
+     * Constructor for Deck class
+     * @param cards the cards of the deck, the first one is the top of the deck
+     */
+    public Deck(final Card[] cards) {
+        this.cards = cards;
+        this.head = 0;
+        this.hash = hashCards();
+    }
+
+    /**
+     * Copy constructor for Deck class, only the cards left in the deck are copied
+     * @param deck the deck that will be copied
+     */
+    public Deck(final Deck deck) {
+        this.cards = new Card[deck.size()];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = new Card(deck.cards[deck.head + i]);
+        }
+        this.head = 0;
+        this.hash = deck.hash;
+    }
+
+    /**
+     * Shuffle the cards left in the deck. The cards are moved exactly as
+     * Collections.shuffle moves them with the same generator, so both give the same order.
+     * @param random the generator used to shuffle
+     */
+    public void shuffle(final Random random) {
+        for (int i = size(); i > 1; i--) {
+            int j = random.nextInt(i);
+            Card card = cards[head + i - 1];
+            cards[head + i - 1] = cards[head + j];
+            cards[head + j] = card;
+        }
+        hash = hashCards();
+    }
+
+    /**
+     * Take the card from the top of the deck
+     * @return the card that was drawn
+     * @throws NoSuchElementException if the deck is empty
+     */
+    public Card draw() {
+        if (head == cards.length) {
+            throw new NoSuchElementException("The deck is empty.");
+        }
+
+        Card card = cards[head];
+        hash ^= Zobrist.deckKey(size() - 1, card);
+        cards[head] = null;
+        head++;
+        if (journal != null) {
+            journal.record(MoveJournal.DRAW, this, 0, 0, 0, card);
+        }
+        return card;
+    }
+
+    /**
+     * Put a card back on top of the deck, to take back draw
+     * @param card the card that was drawn
+     */
+    void undraw(final Card card) {
+        head--;
+        cards[head] = card;
+        hash ^= Zobrist.deckKey(size() - 1, card);
+    }
+
+    /**
+     * Setter for journal member
+     * @param journal the journal where the cards drawn are recorded, or null to record nothing
+     */
+    public void setJournal(final MoveJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Get a card from the deck
+     * @param index the position of the card, 0 is the top of the deck
+     * @return the card
+     */
+    @Override
+    public Card get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return cards[head + index];
+    }
+
+    /**
+     * Get the number of cards left in the deck
+     * @return the number of cards
+     */
+    @Override
+    public int size() {
+        return cards.length - head;
+    }
+
+    /**
+     * Get the Zobrist hash of the deck
+     * @return the exclusive or of the keys of the cards left in the deck
+     */
+    public long getHash() {
+        assert hash == hashCards();
+        return hash;
+    }
+
+    /**
+     * @return the hash of the deck computed from all the cards left
+     */
+    private long hashCards() {
+        long cardsHash = 0;
+        for (int i = head; i < cards.length; i++) {
+            cardsHash ^= Zobrist.deckKey(cards.length - 1 - i, cards[i]);
+        }
+        return cardsHash;
+    }
+}
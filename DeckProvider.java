@@ -0,0 +1,78 @@
+package main;
+
+import fileio.CardInput;
+import fileio.DecksInput;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Builds the decks of a player for the games of an input file. The input cards of
+ * a deck are resolved to their definitions the first time the deck is chosen and
+ * the result is kept for the next games, so a game only builds and shuffles the
+ * cards of the deck it uses.
+ */
+public final class DeckProvider {
+    private final DecksInput decks;
+    private final int nrCardsInDeck;
+    private final AtomicReferenceArray<CardDefinition[]> definitions;
+
+    /**
+     * Constructor for DeckProvider class
+     * @param decks contains the decks of a player extracted from input
+     * @param nrCardsInDeck the number of cards taken from every deck
+     */
+    public DeckProvider(final DecksInput decks, final int nrCardsInDeck) {
+        this.decks = decks;
+        this.nrCardsInDeck = nrCardsInDeck;
+        this.definitions = new AtomicReferenceArray<>(decks.getDecks().size());
+    }
+
+    /**
+     * Build a new deck for a game and shuffle it
+     * @param deckIdx the index of the deck
+     * @param shuffleSeed the seed used to shuffle the deck
+     * @return the shuffled cards of the deck
+     */
+    public Deck createDeck(final int deckIdx, final int shuffleSeed) {
+        CardDefinition[] deckDefinitions = getDefinitions(deckIdx);
+
+        Card[] cards = new Card[deckDefinitions.length];
+        for (int i = 0; i < deckDefinitions.length; i++) {
+            cards[i] = new Card(deckDefinitions[i]);
+        }
+
+        Deck deck = new Deck(cards);
+        deck.shuffle(new Random(shuffleSeed));
+        return deck;
+    }
+
+    /**
+     * Get the definitions of the cards of a deck, resolving them on the first call
+     * @param deckIdx the index of the deck
+     * @return the definitions, in the order of the input
+     */
+    public CardDefinition[] getDefinitions(final int deckIdx) {
+        CardDefinition[] deckDefinitions = definitions.get(deckIdx);
+
+        if (deckDefinitions == null) {
+            ArrayList<CardInput> deck = decks.getDecks().get(deckIdx);
+            deckDefinitions = new CardDefinition[nrCardsInDeck];
+            for (int i = 0; i < nrCardsInDeck; i++) {
+                deckDefinitions[i] = CardDefinition.of(deck.get(i));
+            }
+            definitions.set(deckIdx, deckDefinitions);
+        }
+
+        return deckDefinitions;
+    }
+
+    /**
+     * Getter for nrCardsInDeck member
+     * @return the number of cards taken from every deck
+     */
+    public int getNrCardsInDeck() {
+        return nrCardsInDeck;
+    }
+}
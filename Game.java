@@ -1,11 +1,10 @@
 package main;
 
 import fileio.GameInput;
-
-import java.util.ArrayList;
+import fileio.StartGameInput;
 
 public final class Game {
-    private ArrayList<Action> actions = new ArrayList<>();
+    private ActionTape actions = new ActionTape();
     private int playerOneDeckIdx;
     private int playerTwoDeckIdx;
     private int shuffleSeed;
@@ -18,32 +17,41 @@ public final class Game {
      * @param game contains the game information extracted from input
      */
     public Game(final GameInput game) {
-        this.playerOneDeckIdx = game.getStartGame().getPlayerOneDeckIdx();
-        this.playerTwoDeckIdx = game.getStartGame().getPlayerTwoDeckIdx();
-        this.shuffleSeed = game.getStartGame().getShuffleSeed();
-        this.playerOneHero = new Card(game.getStartGame().getPlayerOneHero());
-        this.playerTwoHero = new Card(game.getStartGame().getPlayerTwoHero());
+        this(game.getStartGame());
 
         for (int i = 0; i < game.getActions().size(); i++) {
-            Action action = new Action(game.getActions().get(i));
-            actions.add(action);
+            actions.add(game.getActions().get(i));
         }
-        this.startingPlayer = game.getStartGame().getStartingPlayer();
+        actions.trimToSize();
+    }
+
+    /**
+     * Constructor for Game class, without actions: the actions are read and performed
+     * one by one by GamePlay.playStream
+     * @param startGame contains the start of the game extracted from input
+     */
+    public Game(final StartGameInput startGame) {
+        this.playerOneDeckIdx = startGame.getPlayerOneDeckIdx();
+        this.playerTwoDeckIdx = startGame.getPlayerTwoDeckIdx();
+        this.shuffleSeed = startGame.getShuffleSeed();
+        this.playerOneHero = new Card(startGame.getPlayerOneHero());
+        this.playerTwoHero = new Card(startGame.getPlayerTwoHero());
+        this.startingPlayer = startGame.getStartingPlayer();
     }
 
     /**
      * Getter for actions member
-     * @return an arraylist of action
+     * @return the tape of the actions
      */
-    public ArrayList<Action> getActions() {
+    public ActionTape getActions() {
         return actions;
     }
 
     /**
      * Setter for actions member
-     * @param actions arraylist of action
+     * @param actions tape of the actions
      */
-    public void setActions(final ArrayList<Action> actions) {
+    public void setActions(final ActionTape actions) {
         this.actions = actions;
     }
 
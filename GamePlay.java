@@ -1,453 +1,617 @@
 package main;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import fileio.DecksInput;
 import fileio.Input;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public final class GamePlay {
-    private ArrayList<ArrayList<Card>> playerOneDecks;
-    private ArrayList<ArrayList<Card>> playerTwoDecks;
     private ArrayList<Game> games = new ArrayList<>();
-    private ArrayList<ArrayList<Card>> table;
-    private Player playerOne;
-    private Player playerTwo;
-    private Player currentPlayer;
-    private int currentPlayerIndex;
-    private int numberOfRounds;
-    private int playerOneDeckIdx;
-    private int playerTwoDeckIdx;
-    private Card playerOneHero;
-    private Card playerTwoHero;
-
-    private static int playerOneWins;
-    private static int playerTwoWins;
-    private static int gamesPlayed;
+    private GameState state;
+    private TokenBuffer buffer;
+    private final DeckProvider playerOneDeckProvider;
+    private final DeckProvider playerTwoDeckProvider;
+    private final GameStats stats;
+    private final JsonNodeFactory nodeFactory;
+    private final boolean deferStats;
+    private final ActionHandler[] handlers = new ActionHandler[Command.values().length];
+    private final ActionTape.Cursor cursor = new ActionTape.Cursor();
+    private final CommandMetrics metrics;
+    private boolean actionError;
+
+    /**
+     * The answer of a stats query of a game played by playAll, written in the buffer of
+     * the game before the games played before it are known
+     */
+    private static final class StatQuery {
+        private final int counter;
+        private final int value;
+
+        /**
+         * Constructor for StatQuery class
+         * @param counter GAMES_PLAYED, PLAYER_ONE_WINS or PLAYER_TWO_WINS
+         * @param value the counter of the game alone, when the query was answered
+         */
+        StatQuery(final int counter, final int value) {
+            this.counter = counter;
+            this.value = value;
+        }
+    }
 
     /**
      * Constructor for GamePlay class
      * @param input contains the information extracted from input
+     * @param nodeFactory the factory shared by all the games, used to build the output
+     *                    of the actions
      */
-    public GamePlay(final Input input) {
+    public GamePlay(final Input input, final JsonNodeFactory nodeFactory) {
+        this(input.getPlayerOneDecks(), input.getPlayerTwoDecks(), nodeFactory);
+
         for (int i = 0; i < input.getGames().size(); i++) {
             Game newGame = new Game(input.getGames().get(i));
             games.add(newGame);
         }
-
-        playerOneWins = 0;
-        playerTwoWins = 0;
-        gamesPlayed = 0;
     }
 
     /**
-     * Start a new game: initialize the two players, theirs decks, the table
-     * extract the deck for every player, shuffle it and iterate the actions.
-     * @param game information about the game
-     * @param output the array where the output of the actions will be placed
-     * @param input contains the information extracted from input
+     * Constructor for GamePlay class, without games: the games are read and played one
+     * by one by playStream
+     * @param playerOneDecks contains the decks of the player one extracted from input
+     * @param playerTwoDecks contains the decks of the player two extracted from input
+     * @param nodeFactory the factory shared by all the games, used to build the output
+     *                    of the actions
      */
-    public void play(final Game game, final ArrayNode output, final Input input) {
-        gamesPlayed++;
-        numberOfRounds = 1;
+    public GamePlay(final DecksInput playerOneDecks, final DecksInput playerTwoDecks,
+                    final JsonNodeFactory nodeFactory) {
+        int nrCardsInDeck = playerOneDecks.getNrCardsInDeck();
+        this.playerOneDeckProvider = new DeckProvider(playerOneDecks, nrCardsInDeck);
+        this.playerTwoDeckProvider = new DeckProvider(playerTwoDecks, nrCardsInDeck);
+
+        this.stats = new GameStats();
+        this.nodeFactory = nodeFactory;
+        this.deferStats = false;
+        this.metrics = CommandMetrics.ENABLED ? new CommandMetrics() : null;
+        registerHandlers();
+    }
 
-        playerOne = new Player();
-        playerTwo = new Player();
+    /**
+     * Constructor for GamePlay class, used by playAll to play one game: the games and
+     * the decks are shared with the parent, the state and the stats are its own and the
+     * stats queries are answered with StatQuery markers
+     * @param parent the game play of the input file
+     */
+    private GamePlay(final GamePlay parent) {
+        this.games = parent.games;
+        this.playerOneDeckProvider = parent.playerOneDeckProvider;
+        this.playerTwoDeckProvider = parent.playerTwoDeckProvider;
+        this.stats = new GameStats();
+        this.nodeFactory = parent.nodeFactory;
+        this.deferStats = true;
+        this.metrics = CommandMetrics.ENABLED ? new CommandMetrics() : null;
+        registerHandlers();
+    }
 
-        playerOneDecks = new ArrayList<>();
-        playerTwoDecks = new ArrayList<>();
+    /**
+     * Fill the table of handlers, one handler for every command
+     */
+    private void registerHandlers() {
+        handlers[Command.END_PLAYER_TURN.ordinal()] = (action, output) -> endPlayerTurn();
+        handlers[Command.PLACE_CARD.ordinal()] = this::placeCard;
+        handlers[Command.CARD_USES_ATTACK.ordinal()] = this::cardUsesAttack;
+        handlers[Command.CARD_USES_ABILITY.ordinal()] = this::cardUsesAbility;
+        handlers[Command.USE_ATTACK_HERO.ordinal()] = this::useAttackHero;
+        handlers[Command.USE_HERO_ABILITY.ordinal()] = this::useHeroAbility;
+        handlers[Command.USE_ENVIRONMENT_CARD.ordinal()] = this::useEnvironmentCard;
+        handlers[Command.GET_CARDS_IN_HAND.ordinal()] = this::writeCardsInHand;
+        handlers[Command.GET_PLAYER_DECK.ordinal()] = this::writePlayerDeck;
+        handlers[Command.GET_CARDS_ON_TABLE.ordinal()] = this::writeCardsOnTable;
+        handlers[Command.GET_PLAYER_TURN.ordinal()] = this::writePlayerTurn;
+        handlers[Command.GET_PLAYER_HERO.ordinal()] = this::writePlayerHero;
+        handlers[Command.GET_CARD_AT_POSITION.ordinal()] = this::writeCardAtPosition;
+        handlers[Command.GET_PLAYER_MANA.ordinal()] = this::writePlayerMana;
+        handlers[Command.GET_ENVIRONMENT_CARDS_IN_HAND.ordinal()] =
+                this::writeEnvironmentCardsInHand;
+        handlers[Command.GET_FROZEN_CARDS_ON_TABLE.ordinal()] = this::writeFrozenCardsOnTable;
+        handlers[Command.GET_TOTAL_GAMES_PLAYED.ordinal()] = this::writeTotalGamesPlayed;
+        handlers[Command.GET_PLAYER_ONE_WINS.ordinal()] = this::writePlayerOneWins;
+        handlers[Command.GET_PLAYER_TWO_WINS.ordinal()] = this::writePlayerTwoWins;
+    }
 
-        for (int i = 0; i < input.getPlayerOneDecks().getNrDecks(); i++) {
-            ArrayList<Card> deckOne = new ArrayList<>();
-            playerOneDecks.add(deckOne);
+    /**
+     * Start a new game: initialize the two players, the table, build the deck chosen
+     * by every player (the other decks are never built), shuffle it and iterate the actions.
+     * @param game information about the game
+     * @param output the generator where the output of the actions is written as soon as
+     *               every action is performed
+     * @throws IOException in case of exceptions to writing
+     */
+    public void play(final Game game, final JsonGenerator output) throws IOException {
+        long startNanos = metrics == null ? 0 : System.nanoTime();
+        start(game);
 
-            for (int j = 0; j < input.getPlayerOneDecks().getNrCardsInDeck(); j++) {
-                Card cardOne = new Card(input.getPlayerOneDecks().getDecks().get(i).get(j));
-                deckOne.add(cardOne);
-            }
+        cursor.reset(game.getActions());
+        while (cursor.next()) {
+            addActionToOutput(cursor.getAction(), output);
         }
+        endGame(startNanos);
+    }
 
-        for (int i = 0; i < input.getPlayerTwoDecks().getNrDecks(); i++) {
-            ArrayList<Card> deckTwo = new ArrayList<>();
-            playerTwoDecks.add(deckTwo);
-
-            for (int j = 0; j < input.getPlayerOneDecks().getNrCardsInDeck(); j++) {
-                Card cardTwo = new Card(input.getPlayerTwoDecks().getDecks().get(i).get(j));
-                deckTwo.add(cardTwo);
+    /**
+     * Play the games of an input file as they are read: every action is performed as soon
+     * as it is read and is not kept after, so only the decks and the current game are
+     * kept in memory
+     * @param reader the games of the input file
+     * @param output the generator where the output of the actions is written
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public void playStream(final GameSource reader,
+                           final JsonGenerator output) throws IOException {
+        for (Game game = reader.nextGame(); game != null; game = reader.nextGame()) {
+            long startNanos = metrics == null ? 0 : System.nanoTime();
+            start(game);
+            for (Action action = reader.nextAction(); action != null;
+                 action = reader.nextAction()) {
+                addActionToOutput(action, output);
             }
+            endGame(startNanos);
         }
+    }
 
-        this.table = new ArrayList<>();
-        for (int i = 0; i < TABLE_MAX_COLS; i++) {
-            table.add(new ArrayList<>());
+    /**
+     * Record the duration of a game and add the metrics of its actions to the global
+     * metrics, if the metrics are enabled
+     * @param startNanos the time when the game started
+     */
+    private void endGame(final long startNanos) {
+        if (metrics != null) {
+            metrics.recordGame(System.nanoTime() - startNanos);
+            metrics.drainTo(CommandMetrics.global());
         }
+    }
 
-        this.playerOneDeckIdx = game.getPlayerOneDeckIdx();
-        this.playerTwoDeckIdx = game.getPlayerTwoDeckIdx();
-
-        this.playerOneHero = game.getPlayerOneHero();
-        this.playerTwoHero = game.getPlayerTwoHero();
-
-        playerOne.setMana(playerOne.getMana() + numberOfRounds);
-        playerTwo.setMana(playerTwo.getMana() + numberOfRounds);
+    /**
+     * Start a game without performing its actions: count it, build the decks and
+     * create its state
+     * @param game information about the game
+     */
+    public void start(final Game game) {
+        stats.setGamesPlayed(stats.getGamesPlayed() + 1);
 
-        ArrayList<Card> playerOneDeck = playerOneDecks.get(playerOneDeckIdx);
-        ArrayList<Card> playerTwoDeck = playerTwoDecks.get(playerTwoDeckIdx);
+        Deck playerOneDeck = playerOneDeckProvider.createDeck(game.getPlayerOneDeckIdx(),
+                game.getShuffleSeed());
+        Deck playerTwoDeck = playerTwoDeckProvider.createDeck(game.getPlayerTwoDeckIdx(),
+                game.getShuffleSeed());
 
-        Collections.shuffle(playerOneDeck, new Random(game.getShuffleSeed()));
-        Collections.shuffle(playerTwoDeck, new Random(game.getShuffleSeed()));
+        state = new GameState(playerOneDeck, playerTwoDeck, game.getPlayerOneHero(),
+                game.getPlayerTwoHero(), game.getStartingPlayer());
+    }
 
-        playerOne.addCardInHand(playerOneDeck.get(0));
-        playerOneDeck.remove(0);
+    /**
+     * Play all the games on the threads of an executor and write their output in the
+     * order of the games. Every game is played with its own state and stats and its
+     * output is kept in a buffer; the answers of getTotalGamesPlayed, getPlayerOneWins
+     * and getPlayerTwoWins are the counters of the game plus the sums of the counters
+     * of the games before it, added when the buffer is written, so the output is the
+     * same as playing the games one after another with play.
+     * @param executor the executor that plays the games
+     * @param output the generator where the output of the games is written
+     * @throws IOException in case of exceptions to writing
+     */
+    public void playAll(final ExecutorService executor,
+                        final JsonGenerator output) throws IOException {
+        List<Future<GamePlay>> results = new ArrayList<>(games.size());
+        for (Game game : games) {
+            results.add(executor.submit(() -> {
+                GamePlay gamePlay = new GamePlay(this);
+                TokenBuffer buffer = new TokenBuffer(null, false);
+                gamePlay.play(game, buffer);
+                gamePlay.buffer = buffer;
+                return gamePlay;
+            }));
+        }
 
-        playerTwo.addCardInHand(playerTwoDeck.get(0));
-        playerTwoDeck.remove(0);
+        int[] totals = {stats.getGamesPlayed(), stats.getPlayerOneWins(),
+            stats.getPlayerTwoWins()};
+        try {
+            for (int i = 0; i < results.size(); i++) {
+                GamePlay gamePlay = results.get(i).get();
+                results.set(i, null);
+                writeBuffer(gamePlay.buffer, totals, output);
+
+                GameStats gameStats = gamePlay.getStats();
+                totals[GAMES_PLAYED] += gameStats.getGamesPlayed();
+                totals[PLAYER_ONE_WINS] += gameStats.getPlayerOneWins();
+                totals[PLAYER_TWO_WINS] += gameStats.getPlayerTwoWins();
+                state = gamePlay.getState();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            for (Future<GamePlay> result : results) {
+                if (result != null) {
+                    result.cancel(true);
+                }
+            }
+        }
 
-        currentPlayerIndex = game.getStartingPlayer();
-        setCurrentPlayer(game.getStartingPlayer());
+        stats.setGamesPlayed(totals[GAMES_PLAYED]);
+        stats.setPlayerOneWins(totals[PLAYER_ONE_WINS]);
+        stats.setPlayerTwoWins(totals[PLAYER_TWO_WINS]);
+    }
 
-        for (Action action : game.getActions()) {
-            if (action.getCommand().equals("endPlayerTurn")) {
-                changeTurn(currentPlayerIndex);
-                setCurrentPlayer(currentPlayerIndex);
-            } else {
-                ObjectMapper objectMapper = new ObjectMapper();
-                ObjectNode node = addActionToNode(objectMapper, action);
-                if (node != null) {
-                    output.add(node);
+    /**
+     * Copy the output of a game to the generator, answering its stats queries
+     * @param buffer the output of the game
+     * @param totals the counters of the games before it
+     * @param output the generator where the output will be written
+     * @throws IOException in case of exceptions to writing
+     */
+    private static void writeBuffer(final TokenBuffer buffer, final int[] totals,
+                                    final JsonGenerator output) throws IOException {
+        try (JsonParser parser = buffer.asParser()) {
+            for (JsonToken token = parser.nextToken(); token != null;
+                 token = parser.nextToken()) {
+                if (token == JsonToken.VALUE_EMBEDDED_OBJECT
+                        && parser.getEmbeddedObject() instanceof StatQuery) {
+                    StatQuery query = (StatQuery) parser.getEmbeddedObject();
+                    output.writeNumber(totals[query.counter] + query.value);
+                } else {
+                    output.copyCurrentEvent(parser);
                 }
             }
         }
     }
 
     /**
-     * Add the specific output of every action in the object node
-     * @param objectMapper object mapper
+     * Perform an action and write its output, using the handler of its command. If the
+     * metrics are enabled, the duration of the action and its error are recorded
      * @param action the action to be performed
-     * @return an object node that contains the output of the action
+     * @param output the generator where the output will be written
+     * @throws IOException in case of exceptions to writing
      */
-    public ObjectNode addActionToNode(final ObjectMapper objectMapper, final Action action) {
-        ObjectNode node = objectMapper.createObjectNode();
-        node.put("command", action.getCommand());
-
-        if (action.getPlayerIdx() != 0) {
-            node.put("playerIdx", action.getPlayerIdx());
+    public void addActionToOutput(final Action action,
+                                  final JsonGenerator output) throws IOException {
+        if (metrics == null) {
+            handlers[action.getCommand().ordinal()].handle(action, output);
+            return;
         }
 
-        ObjectMapper newObjectMapper = new ObjectMapper();
-
-        switch (action.getCommand()) {
-            case "getCardsInHand":
-                ArrayNode arrayNode;
-                if (action.getPlayerIdx() == 1) {
-                    arrayNode = createListNode(newObjectMapper, playerOne.getHand());
-                } else {
-                    arrayNode = createListNode(newObjectMapper, playerTwo.getHand());
-                }
-                node.put("output", arrayNode);
-                break;
-            case "getPlayerDeck":
-                if (action.getPlayerIdx() == 1) {
-                    arrayNode = createListNode(newObjectMapper, playerOneDecks
-                            .get(playerOneDeckIdx));
-                } else {
-                    arrayNode = createListNode(newObjectMapper, playerTwoDecks
-                            .get(playerTwoDeckIdx));
-                }
-                node.put("output", arrayNode);
-                break;
-            case "getCardsOnTable":
-                arrayNode = newObjectMapper.createArrayNode();
-                ArrayNode newArrayNode;
-                for (int i = 0; i < TABLE_MAX_ROWS; i++) {
-                    newArrayNode = createListNode(newObjectMapper, table.get(i));
-                    arrayNode.add(newArrayNode);
-                }
-                node.put("output", arrayNode);
-                break;
-            case "getPlayerTurn":
-                node.put("output", currentPlayerIndex);
-                break;
-            case "getPlayerHero":
-                ObjectNode cardNode;
-                if (action.getPlayerIdx() == 1) {
-                    cardNode = createCardNode(newObjectMapper, playerOneHero);
-                } else {
-                    cardNode = createCardNode(newObjectMapper, playerTwoHero);
-                }
-                node.put("output", cardNode);
-                break;
-            case "getCardAtPosition":
-                node.put("x", action.getX());
-                node.put("y", action.getY());
-                if (table.get(action.getX()).size() > action.getY()) {
-                    newObjectMapper = new ObjectMapper();
-                    cardNode = createCardNode(newObjectMapper, table.get(action.getX())
-                            .get(action.getY()));
-                    node.put("output", cardNode);
-                } else {
-                    node.put("output", "No card available at that position.");
-                }
-                break;
-            case "getPlayerMana":
-                if (action.getPlayerIdx() == 1) {
-                    node.put("output", playerOne.getMana());
-                } else {
-                    node.put("output", playerTwo.getMana());
-                }
-                break;
-            case "getEnvironmentCardsInHand":
-                if (action.getPlayerIdx() == 1) {
-                    arrayNode = createListNode(newObjectMapper, playerOne
-                            .getEnvironmentCardsInHand());
-                } else {
-                    arrayNode = createListNode(newObjectMapper, playerTwo
-                            .getEnvironmentCardsInHand());
-                }
-                node.put("output", arrayNode);
-                break;
-            case "getFrozenCardsOnTable":
-                arrayNode = createListNode(newObjectMapper, getFrozenCardsOnTable());
-                node.put("output", arrayNode);
-                break;
-            case "placeCard":
-                if (currentPlayer.placeCardOnTable(table, currentPlayerIndex,
-                        action.getHandIdx(), node) == 2) {
-                    return null;
-                }
-                break;
-            case "useEnvironmentCard":
-                if (currentPlayer.useEnvironmentCard(action.getHandIdx(), table,
-                        action.getAffectedRow(), currentPlayerIndex, node) == 2) {
-                    return null;
-                }
-                break;
-            case "cardUsesAttack":
-                if (currentPlayer.cardAttack(table, currentPlayerIndex,
-                        action.getCardAttacker(), action.getCardAttacked(), node) == 2) {
-                    return null;
-                }
-                break;
-            case "cardUsesAbility":
-                if (currentPlayer.cardUsesAbility(table, currentPlayerIndex,
-                        action.getCardAttacker(), action.getCardAttacked(), node) == 2) {
-                    return null;
-                }
-                break;
-            case "useAttackHero":
-                Card attackedHero;
+        actionError = false;
+        long startNanos = System.nanoTime();
+        handlers[action.getCommand().ordinal()].handle(action, output);
+        metrics.record(action.getCommand(), System.nanoTime() - startNanos, actionError);
+    }
 
-                if (currentPlayerIndex == 1) {
-                    attackedHero = playerTwoHero;
-                } else {
-                    attackedHero = playerOneHero;
-                }
+    /**
+     * End the turn of the current player
+     */
+    private void endPlayerTurn() {
+        state.changeTurn();
+    }
 
-                if (currentPlayer.useAttackHero(table, currentPlayerIndex,
-                        action.getCardAttacker(), attackedHero, node) == 2) {
-                    return null;
-                }
-                break;
-            case "useHeroAbility":
-                Card hero;
-                if (currentPlayerIndex == 1) {
-                    hero = playerOneHero;
-                } else {
-                    hero = playerTwoHero;
-                }
+    /**
+     * Create the node of an action that changes the game
+     * @param action the action to be performed
+     * @return an object node that contains the command of the action
+     */
+    private ObjectNode createActionNode(final Action action) {
+        ObjectNode node = nodeFactory.objectNode();
+        node.put("command", action.getCommand().getName());
 
-                if (currentPlayer.useHeroAbility(table, action.getAffectedRow(),
-                        currentPlayerIndex, hero, node) == 2) {
-                    return null;
-                }
-                break;
-            case "getTotalGamesPlayed":
-                node.put("output", gamesPlayed);
-                break;
-            case "getPlayerOneWins":
-                node.put("output", playerOneWins);
-                break;
-            case "getPlayerTwoWins":
-                node.put("output", playerTwoWins);
-                break;
-            default :
-                return null;
+        if (action.getPlayerIdx() != 0) {
+            node.put("playerIdx", action.getPlayerIdx());
         }
 
         return node;
     }
 
     /**
-     * Create an array node that contains cards
-     * @param objectMapper object mapper
-     * @param cards the list of cards that want to be added to the array node
-     * @return an array node that contains cards
+     * Write the node of an action, unless the action was executed without error
+     * @param result the value returned by the player's method
+     * @param node the node that contains the output of the action
+     * @param output the generator where the output will be written
+     * @throws IOException in case of exceptions to writing
      */
-    public ArrayNode createListNode(final ObjectMapper objectMapper, final ArrayList<Card> cards) {
-        ArrayNode listNode = objectMapper.createArrayNode();
-
-        for (Card card : cards) {
-            ObjectNode cardNode = createCardNode(objectMapper, card);
-            listNode.add(cardNode);
+    private void writeActionNode(final int result, final ObjectNode node,
+                                 final JsonGenerator output) throws IOException {
+        if (result != 2) {
+            if (metrics != null && node.has("error")) {
+                actionError = true;
+            }
+            output.writeTree(node);
         }
+    }
+
+    private void placeCard(final Action action, final JsonGenerator output) throws IOException {
+        ObjectNode node = createActionNode(action);
+        writeActionNode(state.getCurrentPlayer().placeCardOnTable(state.getBoard(),
+                state.getCurrentPlayerIndex(),
+                action.getHandIdx(), node), node, output);
+    }
+
+    private void useEnvironmentCard(final Action action,
+                                    final JsonGenerator output) throws IOException {
+        ObjectNode node = createActionNode(action);
+        writeActionNode(state.getCurrentPlayer().useEnvironmentCard(action.getHandIdx(),
+                state.getBoard(), action.getAffectedRow(), state.getCurrentPlayerIndex(), node),
+                node, output);
+    }
+
+    private void cardUsesAttack(final Action action,
+                                final JsonGenerator output) throws IOException {
+        ObjectNode node = createActionNode(action);
+        writeActionNode(state.getCurrentPlayer().cardAttack(state.getBoard(),
+                state.getCurrentPlayerIndex(),
+                action.getCardAttacker(), action.getCardAttacked(), node), node, output);
+    }
+
+    private void cardUsesAbility(final Action action,
+                                 final JsonGenerator output) throws IOException {
+        ObjectNode node = createActionNode(action);
+        writeActionNode(state.getCurrentPlayer().cardUsesAbility(state.getBoard(),
+                state.getCurrentPlayerIndex(),
+                action.getCardAttacker(), action.getCardAttacked(), node), node, output);
+    }
+
+    private void useAttackHero(final Action action,
+                               final JsonGenerator output) throws IOException {
+        int playerIdx = state.getCurrentPlayerIndex();
+        Card attackedHero = state.getHero(3 - playerIdx);
 
-        return listNode;
+        ObjectNode node = createActionNode(action);
+        writeActionNode(state.getCurrentPlayer().useAttackHero(state.getBoard(), playerIdx,
+                action.getCardAttacker(), attackedHero, stats, node), node, output);
+    }
+
+    private void useHeroAbility(final Action action,
+                                final JsonGenerator output) throws IOException {
+        int playerIdx = state.getCurrentPlayerIndex();
+        Card hero = state.getHero(playerIdx);
+
+        ObjectNode node = createActionNode(action);
+        writeActionNode(state.getCurrentPlayer().useHeroAbility(state.getBoard(),
+                action.getAffectedRow(), playerIdx, hero, node), node, output);
     }
 
     /**
-     * Create an object node that contains information about a card
-     * @param objectMapper object mapper
-     * @param card the card that want to be added to the object node
-     * @return an object node
+     * Start the object of a query: the command and, if there is one, the index of the player
+     * @param action the query to be answered
+     * @param output the generator where the output will be written
+     * @throws IOException in case of exceptions to writing
      */
-    public ObjectNode createCardNode(final ObjectMapper objectMapper, final Card card) {
-        ObjectNode cardNode = objectMapper.createObjectNode();
-        cardNode.put("mana", card.getMana());
-        if (!card.isEnvironmentType()) {
-            if (!card.isHeroType()) {
-                cardNode.put("attackDamage", card.getAttackDamage());
-            }
+    private void writeQueryStart(final Action action,
+                                 final JsonGenerator output) throws IOException {
+        output.writeStartObject();
+        output.writeStringField("command", action.getCommand().getName());
 
-            cardNode.put("health", card.getHealth());
+        if (action.getPlayerIdx() != 0) {
+            output.writeNumberField("playerIdx", action.getPlayerIdx());
         }
-        cardNode.put("description", card.getDescription());
+    }
 
-        ArrayNode colors = cardNode.putArray("colors");
-        for (String color : card.getColors()) {
-            colors.add(color);
+    private void writeCardsInHand(final Action action,
+                                  final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        output.writeFieldName("output");
+        writeCardList(output, state.getPlayer(action.getPlayerIdx()).getHand());
+        output.writeEndObject();
+    }
+
+    private void writePlayerDeck(final Action action,
+                                 final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        output.writeFieldName("output");
+        writeCardList(output, state.getDeck(action.getPlayerIdx()));
+        output.writeEndObject();
+    }
+
+    private void writeCardsOnTable(final Action action,
+                                   final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        output.writeFieldName("output");
+        Board board = state.getBoard();
+        output.writeStartArray();
+        for (int i = 0; i < Board.TABLE_MAX_ROWS; i++) {
+            output.writeStartArray();
+            for (int j = 0; j < board.getRowSize(i); j++) {
+                writeCard(output, board.get(i, j));
+            }
+            output.writeEndArray();
         }
+        output.writeEndArray();
+        output.writeEndObject();
+    }
 
-        cardNode.put("name", card.getName());
-        return cardNode;
+    private void writePlayerTurn(final Action action,
+                                 final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        output.writeNumberField("output", state.getCurrentPlayerIndex());
+        output.writeEndObject();
     }
 
-    /**
-     * Sets the current player
-     * @param currentPlayerIndex the index of the current player
-     */
-    public void setCurrentPlayer(final int currentPlayerIndex) {
-        if (currentPlayerIndex == 1) {
-            this.currentPlayer = playerOne;
+    private void writePlayerHero(final Action action,
+                                 final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        output.writeFieldName("output");
+        writeCard(output, state.getHero(action.getPlayerIdx()));
+        output.writeEndObject();
+    }
+
+    private void writeCardAtPosition(final Action action,
+                                     final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        output.writeNumberField("x", action.getX());
+        output.writeNumberField("y", action.getY());
+        Board board = state.getBoard();
+        if (board.hasCard(action.getX(), action.getY())) {
+            output.writeFieldName("output");
+            writeCard(output, board.get(action.getX(), action.getY()));
         } else {
-            this.currentPlayer = playerTwo;
+            output.writeStringField("output", "No card available at that position.");
         }
+        output.writeEndObject();
     }
 
-    /**
-     * Change the turn
-     * @param currentPlayerIndex the index of tue current player
-     */
-    public void changeTurn(final int currentPlayerIndex) {
-        if (currentPlayerIndex == 1) {
-            playerOne.setEndTurn(true);
-            this.currentPlayerIndex = 2;
-
-            for (int i = 2; i < TABLE_MAX_ROWS; i++) {
-                for (Card card : table.get(i)) {
-                    card.setFrozen(false);
-                }
-            }
-        } else {
-            playerTwo.setEndTurn(true);
-            this.currentPlayerIndex = 1;
+    private void writePlayerMana(final Action action,
+                                 final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        output.writeNumberField("output", state.getPlayer(action.getPlayerIdx()).getMana());
+        output.writeEndObject();
+    }
 
-            for (int i = 0; i < 2; i++) {
-                for (Card card : table.get(i)) {
-                        card.setFrozen(false);
-                }
-            }
+    private void writeEnvironmentCardsInHand(final Action action,
+                                             final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        output.writeFieldName("output");
+        Hand hand = state.getPlayer(action.getPlayerIdx()).getHand();
+
+        output.writeStartArray();
+        for (int i = hand.nextEnvironment(0); i >= 0; i = hand.nextEnvironment(i + 1)) {
+            writeCard(output, hand.get(i));
         }
+        output.writeEndArray();
+        output.writeEndObject();
+    }
 
-        if (playerOne.isEndTurn() && playerTwo.isEndTurn()) {
-            playerOne.setEndTurn(false);
-            playerTwo.setEndTurn(false);
+    private void writeFrozenCardsOnTable(final Action action,
+                                         final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        output.writeFieldName("output");
+        writeCardList(output, getFrozenCardsOnTable());
+        output.writeEndObject();
+    }
 
-            if (numberOfRounds < MAX_ROUNDS) {
-                numberOfRounds++;
-            }
+    private void writeTotalGamesPlayed(final Action action,
+                                       final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        writeStat(GAMES_PLAYED, stats.getGamesPlayed(), output);
+        output.writeEndObject();
+    }
 
-            playerOne.setMana(playerOne.getMana() + numberOfRounds);
-            playerTwo.setMana(playerTwo.getMana() + numberOfRounds);
+    private void writePlayerOneWins(final Action action,
+                                    final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        writeStat(PLAYER_ONE_WINS, stats.getPlayerOneWins(), output);
+        output.writeEndObject();
+    }
 
-            Card card;
-            if (playerOneDecks.get(playerOneDeckIdx).size() > 0) {
-                card = playerOneDecks.get(playerOneDeckIdx).get(0);
-                playerOne.addCardInHand(card);
-                playerOneDecks.get(playerOneDeckIdx).remove(0);
-            }
+    private void writePlayerTwoWins(final Action action,
+                                    final JsonGenerator output) throws IOException {
+        writeQueryStart(action, output);
+        writeStat(PLAYER_TWO_WINS, stats.getPlayerTwoWins(), output);
+        output.writeEndObject();
+    }
 
-            playerOneHero.setHasAttacked(false);
-            playerOneHero.setUsedAbility(false);
+    /**
+     * Write the answer of a stats query, or a StatQuery marker if the game is played by
+     * playAll
+     * @param counter GAMES_PLAYED, PLAYER_ONE_WINS or PLAYER_TWO_WINS
+     * @param value the value of the counter
+     * @param output the generator where the answer will be written
+     * @throws IOException in case of exceptions to writing
+     */
+    private void writeStat(final int counter, final int value,
+                           final JsonGenerator output) throws IOException {
+        output.writeFieldName("output");
+        if (deferStats) {
+            output.writeEmbeddedObject(new StatQuery(counter, value));
+        } else {
+            output.writeNumber(value);
+        }
+    }
 
-            if (playerTwoDecks.get(playerTwoDeckIdx).size() > 0) {
-                card = playerTwoDecks.get(playerTwoDeckIdx).get(0);
-                playerTwo.addCardInHand(card);
-                playerTwoDecks.get(playerTwoDeckIdx).remove(0);
-            }
+    /**
+     * Write an array that contains cards
+     * @param output the generator where the array will be written
+     * @param cards the list of cards that want to be written
+     * @throws IOException in case of exceptions to writing
+     */
+    public void writeCardList(final JsonGenerator output,
+                              final List<Card> cards) throws IOException {
+        output.writeStartArray();
 
-            playerTwoHero.setHasAttacked(false);
-            playerTwoHero.setUsedAbility(false);
+        for (Card card : cards) {
+            writeCard(output, card);
         }
 
-        for (int i = 0; i < TABLE_MAX_ROWS; i++) {
-            for (Card card : table.get(i)) {
-                card.setHasAttacked(false);
-                card.setUsedAbility(false);
-            }
-        }
+        output.writeEndArray();
     }
 
     /**
-     * Get the frozen cards that are on the table
-     * @return an array list of frozen cards
+     * Write an object that contains information about a card
+     * @param output the generator where the object will be written
+     * @param card the card that want to be written
+     * @throws IOException in case of exceptions to writing
      */
-    public ArrayList<Card> getFrozenCardsOnTable() {
-        ArrayList<Card> frozenCards = new ArrayList<>();
-
-        for (int i = 0; i < TABLE_MAX_ROWS; i++) {
-            for (Card card : table.get(i)) {
-                if (card.isFrozen()) {
-                    frozenCards.add(card);
-                }
+    public void writeCard(final JsonGenerator output, final Card card) throws IOException {
+        output.writeStartObject();
+        output.writeNumberField("mana", card.getMana());
+        if (!card.isEnvironmentType()) {
+            if (!card.isHeroType()) {
+                output.writeNumberField("attackDamage", card.getAttackDamage());
             }
+
+            output.writeNumberField("health", card.getHealth());
+        }
+        output.writeStringField("description", card.getDescription());
+
+        output.writeArrayFieldStart("colors");
+        for (String color : card.getColors()) {
+            output.writeString(color);
         }
+        output.writeEndArray();
 
-        return frozenCards;
+        output.writeStringField("name", card.getName());
+        output.writeEndObject();
     }
 
     /**
-     * Get the player one decks
-     * @return an array list of array list that contains player one decks
+     * Get the frozen cards that are on the table
+     * @return an array list of frozen cards
      */
-    public ArrayList<ArrayList<Card>> getPlayerOneDecks() {
-        return playerOneDecks;
+    public ArrayList<Card> getFrozenCardsOnTable() {
+        return state.getBoard().getFrozenCards();
     }
 
     /**
-     * Set the player one decks
-     * @param playerOneDecks array list of array list of cards
+     * Get the deck of player one in the current game
+     * @return the cards left in the deck
      */
-    public void setPlayerOneDecks(final ArrayList<ArrayList<Card>> playerOneDecks) {
-        this.playerOneDecks = playerOneDecks;
+    public Deck getPlayerOneDeck() {
+        return state.getDeck(1);
     }
 
     /**
-     * Get the player two decks
-     * @return an array list of array list that contains player two decks
+     * Get the deck of player two in the current game
+     * @return the cards left in the deck
      */
-    public ArrayList<ArrayList<Card>> getPlayerTwoDecks() {
-        return playerTwoDecks;
+    public Deck getPlayerTwoDeck() {
+        return state.getDeck(2);
     }
 
     /**
-     * Set the player two decks
-     * @param playerTwoDecks array list of array list of cards
+     * Getter for state member
+     * @return the state of the current game
      */
-    public void setPlayerTwoDecks(final ArrayList<ArrayList<Card>> playerTwoDecks) {
-        this.playerTwoDecks = playerTwoDecks;
+    public GameState getState() {
+        return state;
     }
 
     /**
@@ -467,38 +631,14 @@ public final class GamePlay {
     }
 
     /**
-     * Getter for playerOneWins member
-     * @return the number of wins the player one has
-     */
-    public static int getPlayerOneWins() {
-        return playerOneWins;
-    }
-
-    /**
-     * Setter for playerOneWins member
-     * @param playerOneWins int number
-     */
-    public static void setPlayerOneWins(final int playerOneWins) {
-        GamePlay.playerOneWins = playerOneWins;
-    }
-
-    /**
-     * Getter for playerTwoWins member
-     * @return the number of wins the player two has
-     */
-    public static int getPlayerTwoWins() {
-        return playerTwoWins;
-    }
-
-    /**
-     * Setter for playerTwoWins member
-     * @param playerTwoWins int number
+     * Getter for stats member
+     * @return the win and games played counters of this run
      */
-    public static void setPlayerTwoWins(final int playerTwoWins) {
-        GamePlay.playerTwoWins = playerTwoWins;
+    public GameStats getStats() {
+        return stats;
     }
 
-    static final int TABLE_MAX_COLS = 5;
-    static final int  TABLE_MAX_ROWS = 4;
-    static final int MAX_ROUNDS = 10;
+    static final int GAMES_PLAYED = 0;
+    static final int PLAYER_ONE_WINS = 1;
+    static final int PLAYER_TWO_WINS = 2;
 }
@@ -0,0 +1,25 @@
+package main;
+
+import java.io.IOException;
+
+/**
+ * The games of an input file read one by one, with the actions of every game read one by
+ * one, so GamePlay.playStream can perform an action as soon as it is read
+ */
+public interface GameSource {
+    /**
+     * Read the start of the next game, skipping the actions of the current game that
+     * were not read
+     * @return the next game, without actions, or null if there are no more games
+     * @throws IOException in case of exceptions to reading
+     */
+    Game nextGame() throws IOException;
+
+    /**
+     * Read the next action of the current game. The action may be reused by the next call,
+     * so it must not be kept
+     * @return the action, or null if the game has no more actions
+     * @throws IOException in case of exceptions to reading
+     */
+    Action nextAction() throws IOException;
+}
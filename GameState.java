@@ -0,0 +1,380 @@
+package main;
+
+/**
+ * Everything that changes during a game: the table, the two players with their hands and
+ * mana, the cards left in their decks, the heroes, the player whose turn it is and the
+ * number of the round. A state can be copied and a copy can be restored, so a game can be
+ * rolled back to a previous action without being replayed from the start. A copy shares
+ * with the original only the definitions of the cards, which never change.
+ * Besides the scripted actions of GamePlay, the state can list the legal moves of the
+ * current player and perform them, which is what the simulations and the bots use.
+ * With a MoveJournal, the moves can also be taken back without copying the state.
+ */
+public final class GameState {
+    private Board board;
+    private Player playerOne;
+    private Player playerTwo;
+    private Deck playerOneDeck;
+    private Deck playerTwoDeck;
+    private Card playerOneHero;
+    private Card playerTwoHero;
+    private int currentPlayerIndex;
+    private int numberOfRounds;
+    private int winner;
+    private final Position attackerPosition = new Position(0, 0);
+    private final Position attackedPosition = new Position(0, 0);
+    private MoveGenerator moveGenerator;
+    private MoveJournal journal;
+
+    /**
+     * Constructor for GameState class: the state of a game that starts now. Every player
+     * gets the mana of the first round and draws the first card of their deck
+     * @param playerOneDeck the shuffled deck of player one
+     * @param playerTwoDeck the shuffled deck of player two
+     * @param playerOneHero the hero of player one
+     * @param playerTwoHero the hero of player two
+     * @param startingPlayer the index of the player who starts the game
+     */
+    public GameState(final Deck playerOneDeck, final Deck playerTwoDeck,
+                     final Card playerOneHero, final Card playerTwoHero,
+                     final int startingPlayer) {
+        this.board = new Board();
+        this.playerOne = new Player();
+        this.playerTwo = new Player();
+        this.playerOneDeck = playerOneDeck;
+        this.playerTwoDeck = playerTwoDeck;
+        this.playerOneHero = playerOneHero;
+        this.playerTwoHero = playerTwoHero;
+        this.currentPlayerIndex = startingPlayer;
+        this.numberOfRounds = 1;
+
+        playerOne.setMana(playerOne.getMana() + numberOfRounds);
+        playerTwo.setMana(playerTwo.getMana() + numberOfRounds);
+
+        playerOne.addCardInHand(playerOneDeck.draw());
+        playerTwo.addCardInHand(playerTwoDeck.draw());
+    }
+
+    /**
+     * Copy constructor for GameState class, every card of the state is copied
+     * @param state the state that will be copied
+     */
+    public GameState(final GameState state) {
+        copyFrom(state);
+    }
+
+    /**
+     * Take a snapshot of the state. The snapshot does not change when the game goes on
+     * @return a copy of the state
+     */
+    public GameState snapshot() {
+        return new GameState(this);
+    }
+
+    /**
+     * Bring the state back to a snapshot. The snapshot is copied, so it can be restored again
+     * @param snapshot a state returned by snapshot
+     */
+    public void restore(final GameState snapshot) {
+        copyFrom(snapshot);
+    }
+
+    /**
+     * Replace the state with a copy of another state
+     * @param state the state that will be copied
+     */
+    private void copyFrom(final GameState state) {
+        this.board = new Board(state.board);
+        this.playerOne = new Player(state.playerOne);
+        this.playerTwo = new Player(state.playerTwo);
+        this.playerOneDeck = new Deck(state.playerOneDeck);
+        this.playerTwoDeck = new Deck(state.playerTwoDeck);
+        this.playerOneHero = new Card(state.playerOneHero);
+        this.playerTwoHero = new Card(state.playerTwoHero);
+        this.currentPlayerIndex = state.currentPlayerIndex;
+        this.numberOfRounds = state.numberOfRounds;
+        this.winner = state.winner;
+        if (moveGenerator != null) {
+            moveGenerator.invalidate();
+        }
+        if (journal != null) {
+            journal.clear();
+            setJournal(journal);
+        }
+    }
+
+    /**
+     * Record the changes of the state in a journal, so they can be taken back with
+     * MoveJournal.undoTo. Restoring a snapshot clears the journal
+     * @param journal the journal, or null to record nothing
+     */
+    public void setJournal(final MoveJournal journal) {
+        this.journal = journal;
+        board.setJournal(journal);
+        playerOne.setJournal(journal);
+        playerTwo.setJournal(journal);
+        playerOneDeck.setJournal(journal);
+        playerTwoDeck.setJournal(journal);
+    }
+
+    /**
+     * Record the player whose turn it is, the round and the winner, before they change
+     */
+    private void recordTurn() {
+        if (journal != null) {
+            journal.record(MoveJournal.GAME, this, currentPlayerIndex, numberOfRounds, winner,
+                    null);
+        }
+    }
+
+    /**
+     * Set the player whose turn it is, the round and the winner, to take back a change
+     * @param currentPlayer the index of the player whose turn it was
+     * @param rounds the number of the round
+     * @param winnerIdx the index of the winner, or 0
+     */
+    void restoreTurn(final int currentPlayer, final int rounds, final int winnerIdx) {
+        this.currentPlayerIndex = currentPlayer;
+        this.numberOfRounds = rounds;
+        this.winner = winnerIdx;
+    }
+
+    /**
+     * End the turn of the current player: the cards of the current player are unfrozen and,
+     * if both players ended their turn, a new round starts
+     */
+    public void changeTurn() {
+        recordTurn();
+        if (currentPlayerIndex == 1) {
+            playerOne.setEndTurn(true);
+            this.currentPlayerIndex = 2;
+
+            board.unfreezeRows(Player.PLAYER_ONE_FRONT_ROW, Player.PLAYER_ONE_BACK_ROW);
+        } else {
+            playerTwo.setEndTurn(true);
+            this.currentPlayerIndex = 1;
+
+            board.unfreezeRows(Player.PLAYER_TWO_BACK_ROW, Player.PLAYER_TWO_FRONT_ROW);
+        }
+
+        if (playerOne.isEndTurn() && playerTwo.isEndTurn()) {
+            playerOne.setEndTurn(false);
+            playerTwo.setEndTurn(false);
+
+            if (numberOfRounds < MAX_ROUNDS) {
+                numberOfRounds++;
+            }
+
+            playerOne.setMana(playerOne.getMana() + numberOfRounds);
+            playerTwo.setMana(playerTwo.getMana() + numberOfRounds);
+
+            if (playerOneDeck.size() > 0) {
+                playerOne.addCardInHand(playerOneDeck.draw());
+            }
+
+            if (playerTwoDeck.size() > 0) {
+                playerTwo.addCardInHand(playerTwoDeck.draw());
+            }
+        }
+
+        board.nextTurn();
+    }
+
+    /**
+     * List the legal moves of the current player: the moves that pass the same checks as the
+     * actions of the input. The attacks and the abilities are listed only for the cards on the
+     * table; a card without an ability can use it on any card, which only ends its turn, as
+     * the actions of the input do. The moves are kept by a MoveGenerator, which lists again
+     * only what changed since the previous call.
+     * @param moves the array where the moves are written, at least MAX_MOVES long
+     * @return the number of moves, ending the turn is always the last one
+     */
+    public int listMoves(final int[] moves) {
+        if (moveGenerator == null) {
+            moveGenerator = new MoveGenerator(this);
+        }
+        return moveGenerator.generate(moves);
+    }
+
+    /**
+     * Perform a move of the current player. The move is checked as the actions of the input
+     * are, and the state does not change if the move is refused
+     * @param move an encoded move
+     * @return null if the move was performed, or the error message otherwise
+     */
+    public String applyMove(final int move) {
+        int playerIdx = currentPlayerIndex;
+        Player player = getCurrentPlayer();
+        String error;
+
+        switch (Move.getCommand(move)) {
+            case END_PLAYER_TURN:
+                changeTurn();
+                return null;
+            case PLACE_CARD:
+                error = player.checkPlaceCard(board, playerIdx, Move.getHandIdx(move));
+                if (error == null) {
+                    player.applyPlaceCard(board, playerIdx, Move.getHandIdx(move));
+                }
+                return error;
+            case USE_ENVIRONMENT_CARD:
+                error = player.checkEnvironmentCard(Move.getHandIdx(move), board,
+                        Move.getAffectedRow(move), playerIdx);
+                if (error == null) {
+                    player.applyEnvironmentCard(Move.getHandIdx(move), board,
+                            Move.getAffectedRow(move));
+                }
+                return error;
+            case CARD_USES_ATTACK:
+                setPositions(move);
+                error = player.checkCardAttack(board, playerIdx, attackerPosition,
+                        attackedPosition);
+                if (error == null) {
+                    player.applyCardAttack(board, attackerPosition, attackedPosition);
+                }
+                return error;
+            case CARD_USES_ABILITY:
+                setPositions(move);
+                error = player.checkCardAbility(board, playerIdx, attackerPosition,
+                        attackedPosition);
+                if (error == null) {
+                    player.applyCardAbility(board, attackerPosition, attackedPosition);
+                }
+                return error;
+            case USE_ATTACK_HERO:
+                setPositions(move);
+                error = player.checkAttackHero(board, playerIdx, attackerPosition);
+                if (error == null && player.applyAttackHero(board, attackerPosition,
+                        getHero(3 - playerIdx)) && winner == 0) {
+                    recordTurn();
+                    winner = playerIdx;
+                }
+                return error;
+            case USE_HERO_ABILITY:
+                error = player.checkHeroAbility(board, Move.getAffectedRow(move), playerIdx,
+                        getHero(playerIdx));
+                if (error == null) {
+                    player.applyHeroAbility(board, Move.getAffectedRow(move),
+                            getHero(playerIdx));
+                }
+                return error;
+            default:
+                throw new IllegalArgumentException("Not a move: " + Move.toString(move));
+        }
+    }
+
+    /**
+     * Set the positions of the attacker and of the attacked card of a move
+     * @param move a move where a card attacks or uses its ability
+     */
+    private void setPositions(final int move) {
+        attackerPosition.setX(Move.getAttackerX(move));
+        attackerPosition.setY(Move.getAttackerY(move));
+        attackedPosition.setX(Move.getAttackedX(move));
+        attackedPosition.setY(Move.getAttackedY(move));
+    }
+
+    /**
+     * Get the player who killed the enemy hero with a move
+     * @return the index of the winner, or 0 if no hero was killed by a move
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Get the Zobrist hash of the state: the table, the hands and the mana of the players,
+     * the cards left in their decks in order, the heroes, the player whose turn it is, the
+     * round and the winner. Equal states have equal hashes, and the hash of a snapshot is the
+     * hash of the state it was taken from. The parts of the state keep their own hashes, so
+     * the hash costs a few mixes and not a pass over every card
+     * @return the hash
+     */
+    public long getHash() {
+        long hash = board.getHash()
+                ^ Zobrist.key(Zobrist.TURN, (long) numberOfRounds << SMALL_BITS
+                        | winner << 2 | currentPlayerIndex);
+        for (int playerIdx = 1; playerIdx <= 2; playerIdx++) {
+            Card hero = getHero(playerIdx);
+            long heroValue = (long) hero.getDefinition().getId() << Integer.SIZE
+                    | Integer.toUnsignedLong(hero.getHealth());
+            hash ^= Zobrist.key(Zobrist.SIDE + playerIdx, getPlayer(playerIdx).getHash())
+                    ^ Zobrist.key(Zobrist.HERO, heroValue << SMALL_BITS
+                            | (hero.hasActed(board.getTurn()) ? 1 << 2 : 0) | playerIdx)
+                    ^ Zobrist.key(Zobrist.DECK, getDeck(playerIdx).getHash() + playerIdx);
+        }
+        return hash;
+    }
+
+    /**
+     * Getter for board member
+     * @return the table of the game
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Get a player
+     * @param playerIdx the index of the player, 1 or 2
+     * @return the player
+     */
+    public Player getPlayer(final int playerIdx) {
+        if (playerIdx == 1) {
+            return playerOne;
+        }
+        return playerTwo;
+    }
+
+    /**
+     * Get the player whose turn it is
+     * @return the current player
+     */
+    public Player getCurrentPlayer() {
+        return getPlayer(currentPlayerIndex);
+    }
+
+    /**
+     * Get the cards left in the deck of a player
+     * @param playerIdx the index of the player, 1 or 2
+     * @return the deck
+     */
+    public Deck getDeck(final int playerIdx) {
+        if (playerIdx == 1) {
+            return playerOneDeck;
+        }
+        return playerTwoDeck;
+    }
+
+    /**
+     * Get the hero of a player
+     * @param playerIdx the index of the player, 1 or 2
+     * @return the hero
+     */
+    public Card getHero(final int playerIdx) {
+        if (playerIdx == 1) {
+            return playerOneHero;
+        }
+        return playerTwoHero;
+    }
+
+    /**
+     * Getter for currentPlayerIndex member
+     * @return the index of the player whose turn it is
+     */
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    /**
+     * Getter for numberOfRounds member
+     * @return the number of the current round
+     */
+    public int getNumberOfRounds() {
+        return numberOfRounds;
+    }
+
+    static final int MAX_ROUNDS = 10;
+    static final int MAX_MOVES = 2048;
+    static final int SMALL_BITS = 4;
+}
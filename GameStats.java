@@ -0,0 +1,76 @@
+package main;
+
+public final class GameStats {
+    private int playerOneWins;
+    private int playerTwoWins;
+    private int gamesPlayed;
+
+    /**
+     * Constructor for GameStats class
+     */
+    public GameStats() {
+        this.playerOneWins = 0;
+        this.playerTwoWins = 0;
+        this.gamesPlayed = 0;
+    }
+
+    /**
+     * Getter for playerOneWins member
+     * @return the number of wins the player one has
+     */
+    public int getPlayerOneWins() {
+        return playerOneWins;
+    }
+
+    /**
+     * Setter for playerOneWins member
+     * @param playerOneWins int number
+     */
+    public void setPlayerOneWins(final int playerOneWins) {
+        this.playerOneWins = playerOneWins;
+    }
+
+    /**
+     * Getter for playerTwoWins member
+     * @return the number of wins the player two has
+     */
+    public int getPlayerTwoWins() {
+        return playerTwoWins;
+    }
+
+    /**
+     * Setter for playerTwoWins member
+     * @param playerTwoWins int number
+     */
+    public void setPlayerTwoWins(final int playerTwoWins) {
+        this.playerTwoWins = playerTwoWins;
+    }
+
+    /**
+     * Getter for gamesPlayed member
+     * @return the number of games played so far
+     */
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Setter for gamesPlayed member
+     * @param gamesPlayed int number
+     */
+    public void setGamesPlayed(final int gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    @Override
+    public String toString() {
+        return "GameStats{"
+                + "playerOneWins="
+                + playerOneWins
+                + ", playerTwoWins="
+                + playerTwoWins
+                + ", gamesPlayed="
+                + gamesPlayed
+                + '}';
+    }
+}
@@ -0,0 +1,242 @@
+package main;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import fileio.DecksInput;
+import fileio.StartGameInput;
+
+import java.io.IOException;
+
+/**
+ * Reads an input file with a pull parser, without building fileio.Input. The decks of the
+ * players are read once by readDecks; the games are then read one by one with nextGame and
+ * the actions of the current game one by one with nextAction, so an action can be performed
+ * before the next one is read. The sections are expected in the order of the input files
+ * (the decks before the games, the start of a game before its actions); a section found
+ * before the ones it needs is copied to a buffer and read from there, so any order is read
+ * correctly.
+ */
+public final class GameStreamReader implements GameSource {
+    private final JsonParser parser;
+    private JsonParser games;
+    private JsonParser actions;
+    private boolean gameOpen;
+    private DecksInput playerOneDecks;
+    private DecksInput playerTwoDecks;
+
+    /**
+     * Constructor for GameStreamReader class
+     * @param parser the parser of the input file, created by an ObjectMapper so the decks
+     *               and the start of the games can be read as values
+     */
+    public GameStreamReader(final JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Read the decks of the two players and stop at the start of the games
+     * @throws IOException in case of exceptions to reading, or if a section is missing
+     */
+    public void readDecks() throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+        TokenBuffer buffered = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if ("playerOneDecks".equals(name)) {
+                playerOneDecks = parser.readValueAs(DecksInput.class);
+            } else if ("playerTwoDecks".equals(name)) {
+                playerTwoDecks = parser.readValueAs(DecksInput.class);
+            } else if ("games".equals(name) && playerOneDecks != null
+                    && playerTwoDecks != null) {
+                expect(parser.currentToken(), JsonToken.START_ARRAY);
+                games = parser;
+                return;
+            } else if ("games".equals(name)) {
+                buffered = new TokenBuffer(parser);
+                buffered.copyCurrentStructure(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (playerOneDecks == null || playerTwoDecks == null) {
+            throw new IOException("The input has no decks");
+        }
+        if (buffered == null) {
+            throw new IOException("The input has no games");
+        }
+        games = buffered.asParser(parser.getCodec());
+        expect(games.nextToken(), JsonToken.START_ARRAY);
+    }
+
+    @Override
+    public Game nextGame() throws IOException {
+        while (actions != null) {
+            skipAction();
+        }
+        if (games.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+
+        StartGameInput startGame = null;
+        TokenBuffer buffered = null;
+        while (games.nextToken() == JsonToken.FIELD_NAME) {
+            String name = games.getCurrentName();
+            games.nextToken();
+            if ("startGame".equals(name)) {
+                startGame = games.readValueAs(StartGameInput.class);
+            } else if ("actions".equals(name) && startGame != null) {
+                expect(games.currentToken(), JsonToken.START_ARRAY);
+                actions = games;
+                gameOpen = true;
+                return new Game(startGame);
+            } else if ("actions".equals(name)) {
+                buffered = new TokenBuffer(games);
+                buffered.copyCurrentStructure(games);
+            } else {
+                games.skipChildren();
+            }
+        }
+
+        if (startGame == null) {
+            throw new IOException("A game has no start");
+        }
+        if (buffered != null) {
+            actions = buffered.asParser(games.getCodec());
+            expect(actions.nextToken(), JsonToken.START_ARRAY);
+        }
+        return new Game(startGame);
+    }
+
+    @Override
+    public Action nextAction() throws IOException {
+        if (actions == null) {
+            return null;
+        }
+        if (actions.nextToken() != JsonToken.START_OBJECT) {
+            endActions();
+            return null;
+        }
+
+        Action action = new Action();
+        while (actions.nextToken() == JsonToken.FIELD_NAME) {
+            String name = actions.getCurrentName();
+            JsonToken token = actions.nextToken();
+            switch (name) {
+                case "command":
+                    action.setCommand(Command.fromName(actions.getText()));
+                    break;
+                case "handIdx":
+                    action.setHandIdx(actions.getIntValue());
+                    break;
+                case "cardAttacker":
+                    action.setCardAttacker(readPosition(token));
+                    break;
+                case "cardAttacked":
+                    action.setCardAttacked(readPosition(token));
+                    break;
+                case "affectedRow":
+                    action.setAffectedRow(actions.getIntValue());
+                    break;
+                case "playerIdx":
+                    action.setPlayerIdx(actions.getIntValue());
+                    break;
+                case "x":
+                    action.setX(actions.getIntValue());
+                    break;
+                case "y":
+                    action.setY(actions.getIntValue());
+                    break;
+                default:
+                    actions.skipChildren();
+                    break;
+            }
+        }
+        if (action.getCommand() == null) {
+            throw new IllegalArgumentException("Unknown command: null");
+        }
+        return action;
+    }
+
+    /**
+     * Getter for playerOneDecks member
+     * @return the decks of the player one, after readDecks
+     */
+    public DecksInput getPlayerOneDecks() {
+        return playerOneDecks;
+    }
+
+    /**
+     * Getter for playerTwoDecks member
+     * @return the decks of the player two, after readDecks
+     */
+    public DecksInput getPlayerTwoDecks() {
+        return playerTwoDecks;
+    }
+
+    /**
+     * Read a position of an action, the parser being on its first token
+     * @param token the first token of the position
+     * @return the position, or null if the value is null
+     */
+    private Position readPosition(final JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            return null;
+        }
+
+        Position position = new Position(0, 0);
+        while (actions.nextToken() == JsonToken.FIELD_NAME) {
+            String name = actions.getCurrentName();
+            actions.nextToken();
+            if ("x".equals(name)) {
+                position.setX(actions.getIntValue());
+            } else if ("y".equals(name)) {
+                position.setY(actions.getIntValue());
+            } else {
+                actions.skipChildren();
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Skip the next action of the current game
+     */
+    private void skipAction() throws IOException {
+        if (actions.nextToken() == JsonToken.START_OBJECT) {
+            actions.skipChildren();
+        } else {
+            endActions();
+        }
+    }
+
+    /**
+     * Finish the actions of the current game: if they were read from the input, read the
+     * rest of the game
+     */
+    private void endActions() throws IOException {
+        if (gameOpen) {
+            while (games.nextToken() == JsonToken.FIELD_NAME) {
+                games.nextToken();
+                games.skipChildren();
+            }
+            gameOpen = false;
+        } else {
+            actions.close();
+        }
+        actions = null;
+    }
+
+    /**
+     * Check the token the parser is on
+     */
+    private static void expect(final JsonToken token, final JsonToken expected)
+            throws IOException {
+        if (token != expected) {
+            throw new IOException("Expected " + expected + ", found " + token);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package main;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The cards in the hand of a player, in the order they were drawn. The cards are kept
+ * in an array that grows when it is full, and the hand counts its environment cards, so
+ * they can be listed without building a new list. The hand is also a list of its cards,
+ * and its version is the number of cards added and removed. The Zobrist hash of the hand
+ * is updated by every card added or removed. With a MoveJournal, the cards added and
+ * removed are recorded so they can be taken back.
+ */
+public final class Hand extends AbstractList<Card> implements RandomAccess {
+    private Card[] cards;
+    private int size;
+    private int environmentCount;
+    private long hash;
+    private MoveJournal journal;
+
+    /**
+     * Constructor for an empty Hand
+     */
+    public Hand() {
+        this.cards = new Card[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Copy constructor for Hand class, every card in hand is copied
+     * @param hand the hand that will be copied
+     */
+    public Hand(final Hand hand) {
+        this.cards = new Card[hand.cards.length];
+        for (int i = 0; i < hand.size; i++) {
+            cards[i] = new Card(hand.cards[i]);
+        }
+        this.size = hand.size;
+        this.environmentCount = hand.environmentCount;
+        this.hash = hand.hash;
+    }
+
+    /**
+     * Add a card at the end of the hand
+     * @param card the card that will be added
+     * @return true, as required by the List interface
+     */
+    @Override
+    public boolean add(final Card card) {
+        add(size, card);
+        if (journal != null) {
+            journal.record(MoveJournal.HAND_ADD, this, 0, 0, 0, null);
+        }
+        return true;
+    }
+
+    /**
+     * Add a card at a position of the hand, the cards from that position are moved one
+     * position to the right. The change is not recorded, it is used to take back remove
+     * @param index the position of the card in hand
+     * @param card the card that will be added
+     */
+    @Override
+    public void add(final int index, final Card card) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == cards.length) {
+            cards = Arrays.copyOf(cards, size * 2);
+        }
+        for (int i = index; i < size; i++) {
+            hash ^= Zobrist.handKey(i, cards[i]);
+        }
+        System.arraycopy(cards, index, cards, index + 1, size - index);
+        cards[index] = card;
+        size++;
+        for (int i = index; i < size; i++) {
+            hash ^= Zobrist.handKey(i, cards[i]);
+        }
+        modCount++;
+        if (card.isEnvironmentType()) {
+            environmentCount++;
+        }
+    }
+
+    /**
+     * Remove a card from the hand, the cards after it are moved one position to the left
+     * @param index the position of the card in hand
+     * @return the card that was removed
+     */
+    @Override
+    public Card remove(final int index) {
+        Card card = get(index);
+        if (journal != null) {
+            journal.record(MoveJournal.HAND_REMOVE, this, index, 0, 0, card);
+        }
+        for (int i = index; i < size; i++) {
+            hash ^= Zobrist.handKey(i, cards[i]);
+        }
+        System.arraycopy(cards, index + 1, cards, index, size - index - 1);
+        size--;
+        cards[size] = null;
+        for (int i = index; i < size; i++) {
+            hash ^= Zobrist.handKey(i, cards[i]);
+        }
+        modCount++;
+        if (card.isEnvironmentType()) {
+            environmentCount--;
+        }
+        return card;
+    }
+
+    /**
+     * Get a card from the hand
+     * @param index the position of the card in hand
+     * @return the card
+     */
+    @Override
+    public Card get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return cards[index];
+    }
+
+    /**
+     * Get the number of cards in hand
+     * @return the number of cards
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Getter for environmentCount member
+     * @return the number of environment type cards in hand
+     */
+    public int getEnvironmentCount() {
+        return environmentCount;
+    }
+
+    /**
+     * Get the number of minion cards in hand
+     * @return the number of cards that are not environment type
+     */
+    public int getMinionCount() {
+        return size - environmentCount;
+    }
+
+    /**
+     * Find the next environment card, to iterate over the environment cards in order:
+     * for (int i = hand.nextEnvironment(0); i >= 0; i = hand.nextEnvironment(i + 1))
+     * @param from the position where the search starts
+     * @return the position of the first environment card from that position,
+     *         or -1 if there is none
+     */
+    public int nextEnvironment(final int from) {
+        if (environmentCount == 0) {
+            return -1;
+        }
+        for (int i = from; i < size; i++) {
+            if (cards[i].isEnvironmentType()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the version of the hand
+     * @return a number that increases with every card added or removed
+     */
+    public int getVersion() {
+        return modCount;
+    }
+
+    /**
+     * Setter for journal member
+     * @param journal the journal where the changes are recorded, or null to record nothing
+     */
+    public void setJournal(final MoveJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Get the Zobrist hash of the hand
+     * @return the exclusive or of the keys of the cards in hand
+     */
+    public long getHash() {
+        assert hash == hashCards();
+        return hash;
+    }
+
+    /**
+     * @return the hash of the hand computed from all its cards
+     */
+    private long hashCards() {
+        long cardsHash = 0;
+        for (int i = 0; i < size; i++) {
+            cardsHash ^= Zobrist.handKey(i, cards[i]);
+        }
+        return cardsHash;
+    }
+
+    static final int INITIAL_CAPACITY = 8;
+}
@@ -2,9 +2,11 @@ package main;
 
 import checker.Checker;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import checker.CheckerConstants;
 import fileio.Input;
 
@@ -13,7 +15,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implentation.
@@ -26,9 +34,11 @@ public final class Main {
     }
 
     /**
-     * DO NOT MODIFY MAIN METHOD
-     * Call the checker
-     * @param args from command line
+     * Call the checker and, if the system property gwentstone.metrics is true, print the
+     * metrics of every command
+     * @param args from command line, the first one (optional) is the number of workers
+     *             used to run the input files in parallel, the second one (optional) is
+     *             the number of workers used to play the games of a file in parallel
      * @throws IOException in case of exceptions to reading / writing
      */
     public static void main(final String[] args) throws IOException {
@@ -44,16 +54,89 @@ public final class Main {
         }
         Files.createDirectories(path);
 
-        for (File file : Objects.requireNonNull(directory.listFiles())) {
-            String filepath = CheckerConstants.OUT_PATH + file.getName();
-            File out = new File(filepath);
-            boolean isCreated = out.createNewFile();
-            if (isCreated) {
-                action(file.getName(), filepath);
+        int workers = DEFAULT_WORKERS;
+        if (args.length > 0) {
+            workers = Integer.parseInt(args[0]);
+        }
+        int gameWorkers = DEFAULT_WORKERS;
+        if (args.length > 1) {
+            gameWorkers = Integer.parseInt(args[1]);
+        }
+
+        ExecutorService gameExecutor = null;
+        if (gameWorkers > 1) {
+            gameExecutor = Executors.newFixedThreadPool(gameWorkers);
+        }
+
+        try {
+            if (workers > 1) {
+                actionParallel(Objects.requireNonNull(directory.listFiles()), workers,
+                        gameExecutor);
+            } else {
+                for (File file : Objects.requireNonNull(directory.listFiles())) {
+                    String filepath = CheckerConstants.OUT_PATH + file.getName();
+                    File out = new File(filepath);
+                    boolean isCreated = out.createNewFile();
+                    if (isCreated) {
+                        action(file.getName(), filepath, gameExecutor);
+                    }
+                }
+            }
+        } finally {
+            if (gameExecutor != null) {
+                gameExecutor.shutdownNow();
             }
         }
 
         Checker.calculateScore();
+
+        if (CommandMetrics.ENABLED) {
+            System.out.print(CommandMetrics.global().summary());
+        }
+    }
+
+    /**
+     * Run every input file on a bounded pool of workers. Each file gets its own
+     * GamePlay, so the files share no state and the output is the same as in the
+     * sequential run.
+     * @param files the input files
+     * @param workers the number of files processed at the same time
+     * @param gameExecutor the executor that plays the games of a file, or null to play
+     *                     them one after another
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void actionParallel(final File[] files, final int workers,
+                                      final ExecutorService gameExecutor) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        List<Future<Void>> results = new ArrayList<>();
+
+        try {
+            for (File file : files) {
+                String filepath = CheckerConstants.OUT_PATH + file.getName();
+                File out = new File(filepath);
+                boolean isCreated = out.createNewFile();
+                if (isCreated) {
+                    results.add(executor.submit(() -> {
+                        action(file.getName(), filepath, gameExecutor);
+                        return null;
+                    }));
+                }
+            }
+
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     /**
@@ -63,21 +146,60 @@ public final class Main {
      */
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        Input inputData = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH + filePath1),
-                Input.class);
+        action(filePath1, filePath2, null);
+    }
 
-        ArrayNode output = objectMapper.createArrayNode();
+    /**
+     * Play the games of an input file. A file in the binary match format (see
+     * MatchFileWriter) is mapped in memory and played one action at a time. Otherwise,
+     * without an executor the file is read with a pull parser and every action is
+     * performed as soon as it is read; with an executor the whole file is read first and
+     * the games are played in parallel. If the input cannot be played to its end, for
+     * example because of an unknown command, the output written so far is deleted
+     * @param filePath1 for input file
+     * @param filePath2 for output file
+     * @param gameExecutor the executor that plays the games of the file, or null to play
+     *                     them one after another
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void action(final String filePath1, final String filePath2,
+                              final ExecutorService gameExecutor) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        objectMapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        File inputFile = new File(CheckerConstants.TESTS_PATH + filePath1);
+        File outputFile = new File(filePath2);
 
-        //TODO add here the entry point to your implementation
+        try (JsonGenerator output = objectMapper.getFactory()
+                .createGenerator(outputFile, JsonEncoding.UTF8)) {
+            output.useDefaultPrettyPrinter();
+            output.writeStartArray();
 
-        GamePlay start = new GamePlay(inputData);
+            if (filePath1.endsWith(MatchFileWriter.EXTENSION)) {
+                MatchFileReader reader = new MatchFileReader(inputFile.toPath());
+                GamePlay start = new GamePlay(reader.getPlayerOneDecks(),
+                        reader.getPlayerTwoDecks(), objectMapper.getNodeFactory());
+                start.playStream(reader, output);
+            } else if (gameExecutor != null) {
+                Input inputData = objectMapper.readValue(inputFile, Input.class);
+                GamePlay start = new GamePlay(inputData, objectMapper.getNodeFactory());
+                start.playAll(gameExecutor, output);
+            } else {
+                try (JsonParser input = objectMapper.createParser(inputFile)) {
+                    GameStreamReader reader = new GameStreamReader(input);
+                    reader.readDecks();
+                    GamePlay start = new GamePlay(reader.getPlayerOneDecks(),
+                            reader.getPlayerTwoDecks(), objectMapper.getNodeFactory());
+                    start.playStream(reader, output);
+                }
+            }
 
-        for (Game game : start.getGames()) {
-            start.play(game, output, inputData);
+            output.writeEndArray();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(outputFile.toPath());
+            throw e;
         }
-
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), output);
     }
+
+    static final int DEFAULT_WORKERS = 1;
 }
@@ -0,0 +1,172 @@
+package main;
+
+import fileio.CardInput;
+import fileio.DecksInput;
+import fileio.StartGameInput;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * Reads a file written by MatchFileWriter. The file is mapped in memory with
+ * FileChannel.map; the dictionary and the decks are read when the file is opened, the games
+ * are read one by one with nextGame and the actions of the current game one by one with
+ * nextAction. An action is read from its record into the same Action and Position objects
+ * every time, so reading the actions does not allocate.
+ */
+public final class MatchFileReader implements GameSource {
+    private final ByteBuffer buffer;
+    private final CardInput[] dictionary;
+    private final DecksInput playerOneDecks;
+    private final DecksInput playerTwoDecks;
+    private int gamesLeft;
+    private int actionsLeft;
+
+    private final Action action = new Action();
+    private final Position cardAttacker = new Position(0, 0);
+    private final Position cardAttacked = new Position(0, 0);
+
+    /**
+     * Constructor for MatchFileReader class: map the file and read the dictionary and
+     * the decks
+     * @param path the binary file
+     * @throws IOException in case of exceptions to reading, or if the file is not in the
+     *                     binary match format
+     */
+    public MatchFileReader(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MatchFileWriter.MAGIC) {
+            throw new IOException("Not a match file: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != MatchFileWriter.VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+
+        this.dictionary = new CardInput[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readCard();
+        }
+        this.playerOneDecks = readDecks();
+        this.playerTwoDecks = readDecks();
+        this.gamesLeft = buffer.getInt();
+    }
+
+    @Override
+    public Game nextGame() {
+        buffer.position(buffer.position() + actionsLeft * MatchFileWriter.RECORD_BYTES);
+        actionsLeft = 0;
+        if (gamesLeft == 0) {
+            return null;
+        }
+        gamesLeft--;
+
+        StartGameInput startGame = new StartGameInput();
+        startGame.setPlayerOneDeckIdx(buffer.getInt());
+        startGame.setPlayerTwoDeckIdx(buffer.getInt());
+        startGame.setShuffleSeed(buffer.getInt());
+        startGame.setPlayerOneHero(dictionary[buffer.getInt()]);
+        startGame.setPlayerTwoHero(dictionary[buffer.getInt()]);
+        startGame.setStartingPlayer(buffer.getInt());
+        actionsLeft = buffer.getInt();
+        return new Game(startGame);
+    }
+
+    @Override
+    public Action nextAction() {
+        if (actionsLeft == 0) {
+            return null;
+        }
+        actionsLeft--;
+
+        action.setCommand(COMMANDS[buffer.get()]);
+        int flags = buffer.get();
+        action.setHandIdx(buffer.get());
+        cardAttacker.setX(buffer.get());
+        cardAttacker.setY(buffer.get());
+        cardAttacked.setX(buffer.get());
+        cardAttacked.setY(buffer.get());
+        boolean hasAttacker = (flags & MatchFileWriter.HAS_ATTACKER) != 0;
+        boolean hasAttacked = (flags & MatchFileWriter.HAS_ATTACKED) != 0;
+        action.setCardAttacker(hasAttacker ? cardAttacker : null);
+        action.setCardAttacked(hasAttacked ? cardAttacked : null);
+        action.setAffectedRow(buffer.get());
+        action.setPlayerIdx(buffer.get());
+        action.setX(buffer.get());
+        action.setY(buffer.get());
+        return action;
+    }
+
+    /**
+     * Getter for playerOneDecks member
+     * @return the decks of the player one
+     */
+    public DecksInput getPlayerOneDecks() {
+        return playerOneDecks;
+    }
+
+    /**
+     * Getter for playerTwoDecks member
+     * @return the decks of the player two
+     */
+    public DecksInput getPlayerTwoDecks() {
+        return playerTwoDecks;
+    }
+
+    private CardInput readCard() {
+        CardInput card = new CardInput();
+        card.setMana(buffer.getInt());
+        card.setAttackDamage(buffer.getInt());
+        card.setHealth(buffer.getInt());
+        card.setDescription(readString());
+        int nrColors = buffer.getInt();
+        if (nrColors >= 0) {
+            ArrayList<String> colors = new ArrayList<>(nrColors);
+            for (int i = 0; i < nrColors; i++) {
+                colors.add(readString());
+            }
+            card.setColors(colors);
+        }
+        card.setName(readString());
+        return card;
+    }
+
+    private DecksInput readDecks() {
+        DecksInput decks = new DecksInput();
+        decks.setNrCardsInDeck(buffer.getInt());
+        decks.setNrDecks(buffer.getInt());
+        int nrDecks = buffer.getInt();
+
+        ArrayList<ArrayList<CardInput>> cards = new ArrayList<>(nrDecks);
+        for (int i = 0; i < nrDecks; i++) {
+            int size = buffer.getInt();
+            ArrayList<CardInput> deck = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                deck.add(dictionary[buffer.getInt()]);
+            }
+            cards.add(deck);
+        }
+        decks.setDecks(cards);
+        return decks;
+    }
+
+    private String readString() {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static final Command[] COMMANDS = Command.values();
+}
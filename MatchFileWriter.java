@@ -0,0 +1,218 @@
+package main;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fileio.ActionsInput;
+import fileio.CardInput;
+import fileio.Coordinates;
+import fileio.DecksInput;
+import fileio.GameInput;
+import fileio.Input;
+import fileio.StartGameInput;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts an input file to the binary match format read by MatchFileReader, so a corpus
+ * that is played many times is parsed once. The file has, in order, all big-endian:
+ * <ul>
+ * <li>the header: MAGIC and VERSION</li>
+ * <li>the card dictionary: the number of distinct cards (decks and heroes), then every card
+ * as mana, attackDamage, health, description, the number of colors, the colors and name;
+ * a string is its length in UTF-8 bytes followed by the bytes, -1 for null</li>
+ * <li>the decks of player one and of player two: nrCardsInDeck, nrDecks, the number of
+ * decks, and every deck as its size followed by the ids of its cards in the dictionary</li>
+ * <li>the number of games, and every game as the two deck indexes, the shuffle seed, the
+ * ids of the two heroes, the starting player, the number of actions and then one record
+ * of RECORD_BYTES bytes for every action: the ordinal of the command, the flags telling
+ * which positions are present, handIdx, the x and y of cardAttacker and cardAttacked,
+ * affectedRow, playerIdx, x and y</li>
+ * </ul>
+ */
+public final class MatchFileWriter {
+    /**
+     * for coding style
+     */
+    private MatchFileWriter() {
+    }
+
+    /**
+     * Convert input files, usage: MatchFileWriter input.json output.match
+     * @param args the input file and the binary file
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: MatchFileWriter <input> <output>");
+        }
+        Input input = new ObjectMapper().readValue(new File(args[0]), Input.class);
+        write(input, new File(args[1]));
+    }
+
+    /**
+     * Write an input in the binary match format
+     * @param input contains the information extracted from input
+     * @param file the binary file
+     * @throws IOException in case of exceptions to writing
+     * @throws IllegalArgumentException if a command is unknown or a value of an action
+     *                                  does not fit in its byte
+     */
+    public static void write(final Input input, final File file) throws IOException {
+        Map<List<Object>, Integer> ids = new HashMap<>();
+        List<CardInput> dictionary = new ArrayList<>();
+        addDecks(input.getPlayerOneDecks(), ids, dictionary);
+        addDecks(input.getPlayerTwoDecks(), ids, dictionary);
+        for (GameInput game : input.getGames()) {
+            addCard(game.getStartGame().getPlayerOneHero(), ids, dictionary);
+            addCard(game.getStartGame().getPlayerTwoHero(), ids, dictionary);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            out.writeInt(dictionary.size());
+            for (CardInput card : dictionary) {
+                out.writeInt(card.getMana());
+                out.writeInt(card.getAttackDamage());
+                out.writeInt(card.getHealth());
+                writeString(out, card.getDescription());
+                if (card.getColors() == null) {
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(card.getColors().size());
+                    for (String color : card.getColors()) {
+                        writeString(out, color);
+                    }
+                }
+                writeString(out, card.getName());
+            }
+
+            writeDecks(out, input.getPlayerOneDecks(), ids);
+            writeDecks(out, input.getPlayerTwoDecks(), ids);
+
+            out.writeInt(input.getGames().size());
+            for (GameInput game : input.getGames()) {
+                StartGameInput startGame = game.getStartGame();
+                out.writeInt(startGame.getPlayerOneDeckIdx());
+                out.writeInt(startGame.getPlayerTwoDeckIdx());
+                out.writeInt(startGame.getShuffleSeed());
+                out.writeInt(ids.get(cardKey(startGame.getPlayerOneHero())));
+                out.writeInt(ids.get(cardKey(startGame.getPlayerTwoHero())));
+                out.writeInt(startGame.getStartingPlayer());
+
+                out.writeInt(game.getActions().size());
+                for (ActionsInput action : game.getActions()) {
+                    writeAction(out, action);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the record of an action
+     */
+    private static void writeAction(final DataOutputStream out,
+                                    final ActionsInput action) throws IOException {
+        int flags = 0;
+        if (action.getCardAttacker() != null) {
+            flags |= HAS_ATTACKER;
+        }
+        if (action.getCardAttacked() != null) {
+            flags |= HAS_ATTACKED;
+        }
+
+        out.writeByte(Command.fromName(action.getCommand()).ordinal());
+        out.writeByte(flags);
+        writeByte(out, action.getHandIdx());
+        writeCoordinates(out, action.getCardAttacker());
+        writeCoordinates(out, action.getCardAttacked());
+        writeByte(out, action.getAffectedRow());
+        writeByte(out, action.getPlayerIdx());
+        writeByte(out, action.getX());
+        writeByte(out, action.getY());
+    }
+
+    private static void writeCoordinates(final DataOutputStream out,
+                                         final Coordinates coordinates) throws IOException {
+        if (coordinates == null) {
+            out.writeShort(0);
+            return;
+        }
+        writeByte(out, coordinates.getX());
+        writeByte(out, coordinates.getY());
+    }
+
+    private static void writeByte(final DataOutputStream out, final int value)
+            throws IOException {
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Value out of range: " + value);
+        }
+        out.writeByte(value);
+    }
+
+    private static void writeString(final DataOutputStream out, final String value)
+            throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeDecks(final DataOutputStream out, final DecksInput decks,
+                                   final Map<List<Object>, Integer> ids) throws IOException {
+        out.writeInt(decks.getNrCardsInDeck());
+        out.writeInt(decks.getNrDecks());
+        out.writeInt(decks.getDecks().size());
+        for (ArrayList<CardInput> deck : decks.getDecks()) {
+            out.writeInt(deck.size());
+            for (CardInput card : deck) {
+                out.writeInt(ids.get(cardKey(card)));
+            }
+        }
+    }
+
+    private static void addDecks(final DecksInput decks, final Map<List<Object>, Integer> ids,
+                                 final List<CardInput> dictionary) {
+        for (ArrayList<CardInput> deck : decks.getDecks()) {
+            for (CardInput card : deck) {
+                addCard(card, ids, dictionary);
+            }
+        }
+    }
+
+    private static void addCard(final CardInput card, final Map<List<Object>, Integer> ids,
+                                final List<CardInput> dictionary) {
+        if (ids.putIfAbsent(cardKey(card), dictionary.size()) == null) {
+            dictionary.add(card);
+        }
+    }
+
+    /**
+     * @return the fields of a card, equal for the cards that are written the same way
+     */
+    private static List<Object> cardKey(final CardInput card) {
+        return Arrays.asList(card.getMana(), card.getAttackDamage(), card.getHealth(),
+                card.getDescription(), card.getColors(), card.getName());
+    }
+
+    static final int MAGIC = 0x4D544348;
+    static final int VERSION = 1;
+    static final int RECORD_BYTES = 11;
+    static final int HAS_ATTACKER = 1;
+    static final int HAS_ATTACKED = 2;
+    static final String EXTENSION = ".match";
+}
@@ -0,0 +1,378 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Chooses the move of the current player with a Monte Carlo Tree Search. The legal moves are
+ * the ones listed by GameState, so they follow the same checks as the actions of the input.
+ * The search uses root parallelism: every worker grows its own tree from the same state and
+ * adds the visits and the rewards of the first moves to counters shared without locks. The
+ * search stops when the budget of iterations is spent or when the time limit is reached, and
+ * the move visited the most is chosen. With a transposition table, the chosen move is kept
+ * under the hash of the state and a state searched before with at least as many iterations
+ * as the budget is not searched again.
+ */
+public final class MctsAgent {
+    private final ForkJoinPool pool;
+    private final int workers;
+    private int iterations = DEFAULT_ITERATIONS;
+    private long timeLimitNanos;
+    private double exploration = DEFAULT_EXPLORATION;
+    private SimulationPolicy rolloutPolicy = SimulationPolicies::greedy;
+    private TranspositionTable table;
+    private final AtomicLong lastIterations = new AtomicLong();
+
+    /**
+     * Constructor for MctsAgent class
+     * @param pool the pool where the trees are grown
+     * @param workers the number of trees grown at the same time
+     */
+    public MctsAgent(final ForkJoinPool pool, final int workers) {
+        this.pool = pool;
+        this.workers = workers;
+    }
+
+    /**
+     * Setter for iterations member
+     * @param iterations the number of iterations of a search, shared by all the workers
+     */
+    public void setIterations(final int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Set the time limit of a search
+     * @param millis the number of milliseconds a search can take, 0 for no limit
+     */
+    public void setTimeLimit(final long millis) {
+        this.timeLimitNanos = millis * NANOS_PER_MILLI;
+    }
+
+    /**
+     * Setter for exploration member
+     * @param exploration the exploration constant of the UCT formula
+     */
+    public void setExploration(final double exploration) {
+        this.exploration = exploration;
+    }
+
+    /**
+     * Setter for rolloutPolicy member
+     * @param rolloutPolicy the policy of both players in the rollouts, greedy by default
+     */
+    public void setRolloutPolicy(final SimulationPolicy rolloutPolicy) {
+        this.rolloutPolicy = rolloutPolicy;
+    }
+
+    /**
+     * Setter for table member
+     * @param table the table where the chosen moves are kept, or null to always search
+     */
+    public void setTranspositionTable(final TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Get the number of iterations of the last search
+     * @return the number of iterations done by all the workers
+     */
+    public long getLastIterations() {
+        return lastIterations.get();
+    }
+
+    /**
+     * Choose the move of the current player
+     * @param state the state of the game, it is not changed
+     * @param seed the seed of the workers' generators
+     * @return the chosen move, encoded as in Move
+     */
+    public int chooseMove(final GameState state, final long seed) {
+        int[] rootMoves = new int[GameState.MAX_MOVES];
+        int rootCount = state.listMoves(rootMoves);
+        if (rootCount == 1) {
+            lastIterations.set(0);
+            return rootMoves[0];
+        }
+
+        long hash = 0;
+        if (table != null) {
+            hash = state.getHash();
+            TranspositionTable.Entry entry = new TranspositionTable.Entry();
+            if (table.probe(hash, entry) && entry.getDepth() >= iterations
+                    && contains(rootMoves, rootCount, entry.getMove())) {
+                lastIterations.set(0);
+                return entry.getMove();
+            }
+        }
+
+        GameState root = state.snapshot();
+        AtomicLongArray visits = new AtomicLongArray(rootCount);
+        AtomicLongArray rewards = new AtomicLongArray(rootCount);
+        AtomicInteger remaining = new AtomicInteger(iterations);
+        AtomicLong done = new AtomicLong();
+        long deadline = Long.MAX_VALUE;
+        if (timeLimitNanos > 0) {
+            deadline = System.nanoTime() + timeLimitNanos;
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Search search = new Search(root, rootMoves, rootCount, visits, rewards,
+                    new Random(SelfPlaySimulator.gameSeed(seed, i)));
+            long workerDeadline = deadline;
+            tasks.add(() -> {
+                search.run(remaining, workerDeadline, done);
+                return null;
+            });
+        }
+
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The search was interrupted.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("The search failed.", e.getCause());
+            }
+        }
+        lastIterations.set(done.get());
+
+        int best = 0;
+        for (int i = 1; i < rootCount; i++) {
+            if (visits.get(i) > visits.get(best)) {
+                best = i;
+            }
+        }
+        if (table != null) {
+            table.store(hash, rootMoves[best], (int) Math.min(done.get(), Integer.MAX_VALUE),
+                    (double) rewards.get(best) / REWARD_SCALE / Math.max(visits.get(best), 1));
+        }
+        return rootMoves[best];
+    }
+
+    /**
+     * @return true if a move is one of the legal moves, so a move found in the table by a
+     *         colliding hash is searched again instead of being played
+     */
+    private static boolean contains(final int[] moves, final int count, final int move) {
+        for (int i = 0; i < count; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Use the agent as the policy of a player in the simulations
+     * @return a policy that searches every move
+     */
+    public SimulationPolicy asPolicy() {
+        return (state, moves, count, random) -> {
+            int move = chooseMove(state, random.nextLong());
+            for (int i = 0; i < count; i++) {
+                if (moves[i] == move) {
+                    return i;
+                }
+            }
+            return count - 1;
+        };
+    }
+
+    /**
+     * A node of the tree of a worker: the state reached by a move and the results of the
+     * rollouts that went through it, from the point of view of the player who made the move
+     */
+    private static final class Node {
+        private final Node parent;
+        private final int move;
+        private final int player;
+        private final int rootIdx;
+        private final ArrayList<Node> children = new ArrayList<>();
+        private int[] untried;
+        private int untriedCount;
+        private int visits;
+        private double reward;
+
+        Node(final Node parent, final int move, final int player, final int rootIdx) {
+            this.parent = parent;
+            this.move = move;
+            this.player = player;
+            this.rootIdx = rootIdx;
+        }
+    }
+
+    /**
+     * The search of one worker: its own tree, its own copy of the state with a journal that
+     * takes back every iteration, its generator and its array of moves
+     */
+    private final class Search {
+        private final GameState state;
+        private final MoveJournal journal = new MoveJournal();
+        private final AtomicLongArray sharedVisits;
+        private final AtomicLongArray sharedRewards;
+        private final Random random;
+        private final int[] rootMoves;
+        private final Node rootNode;
+        private final int rootPlayer;
+        private final int[] moves = new int[GameState.MAX_MOVES];
+
+        Search(final GameState root, final int[] rootMoves, final int rootCount,
+               final AtomicLongArray sharedVisits, final AtomicLongArray sharedRewards,
+               final Random random) {
+            this.state = root.snapshot();
+            state.setJournal(journal);
+            this.sharedVisits = sharedVisits;
+            this.sharedRewards = sharedRewards;
+            this.random = random;
+            this.rootMoves = rootMoves;
+            this.rootPlayer = root.getCurrentPlayerIndex();
+            this.rootNode = new Node(null, 0, 3 - rootPlayer, -1);
+            rootNode.untried = new int[rootCount];
+            System.arraycopy(rootMoves, 0, rootNode.untried, 0, rootCount);
+            rootNode.untriedCount = rootCount;
+        }
+
+        /**
+         * Run iterations until the shared budget is spent or the deadline is reached
+         * @param remaining the iterations left to all the workers
+         * @param deadline the value of System.nanoTime when the search stops
+         * @param done the counter of the iterations done
+         */
+        void run(final AtomicInteger remaining, final long deadline, final AtomicLong done) {
+            while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+                iterate();
+                done.incrementAndGet();
+            }
+        }
+
+        /**
+         * One iteration: select a node, expand it, play a rollout and back up its result
+         */
+        private void iterate() {
+            Node node = rootNode;
+
+            while (node.untriedCount == 0 && !node.children.isEmpty()
+                    && state.getWinner() == 0) {
+                node = select(node);
+                state.applyMove(node.move);
+            }
+
+            if (state.getWinner() == 0) {
+                node = expand(node, state);
+            }
+
+            double reward = rollout(state);
+            journal.undoTo(0);
+
+            for (Node n = node; n != null; n = n.parent) {
+                double playerReward = reward;
+                if (n.player != rootPlayer) {
+                    playerReward = 1 - reward;
+                }
+                n.visits++;
+                n.reward += playerReward;
+                if (n.rootIdx >= 0) {
+                    sharedVisits.incrementAndGet(n.rootIdx);
+                    sharedRewards.addAndGet(n.rootIdx, (long) (playerReward * REWARD_SCALE));
+                }
+            }
+        }
+
+        /**
+         * @param node a node with all its moves expanded
+         * @return the child with the best UCT value
+         */
+        private Node select(final Node node) {
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(node.visits);
+
+            for (Node child : node.children) {
+                double value = child.reward / child.visits
+                        + exploration * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Perform one of the moves of a node that were not tried yet and add its child
+         * @param node the node that is expanded
+         * @param state the state of the node, changed to the state of the child
+         * @return the new child, or the node if it has no moves left to try
+         */
+        private Node expand(final Node node, final GameState state) {
+            if (node.untried == null) {
+                int count = state.listMoves(moves);
+                node.untried = new int[count];
+                System.arraycopy(moves, 0, node.untried, 0, count);
+                node.untriedCount = count;
+            }
+
+            if (node.untriedCount == 0) {
+                return node;
+            }
+
+            int player = state.getCurrentPlayerIndex();
+            int idx = random.nextInt(node.untriedCount);
+            int move = node.untried[idx];
+            node.untriedCount--;
+            node.untried[idx] = node.untried[node.untriedCount];
+            node.untried[node.untriedCount] = move;
+            state.applyMove(move);
+
+            int rootIdx = -1;
+            if (node == rootNode) {
+                rootIdx = 0;
+                while (rootMoves[rootIdx] != move) {
+                    rootIdx++;
+                }
+            }
+            Node child = new Node(node, move, player, rootIdx);
+            node.children.add(child);
+            return child;
+        }
+
+        /**
+         * Play the game on with the rollout policy for at most ROLLOUT_MOVES moves
+         * @param state the state where the rollout starts, changed by the rollout
+         * @return 1 if the player who started the search won, 0 if they lost, and the
+         *         difference of the heroes' health mapped between 0 and 1 if nobody won
+         */
+        private double rollout(final GameState state) {
+            for (int i = 0; i < ROLLOUT_MOVES && state.getWinner() == 0; i++) {
+                int count = state.listMoves(moves);
+                state.applyMove(moves[rolloutPolicy.choose(state, moves, count, random)]);
+            }
+
+            if (state.getWinner() != 0) {
+                return state.getWinner() == rootPlayer ? 1 : 0;
+            }
+
+            int own = Math.max(state.getHero(rootPlayer).getHealth(), 0);
+            int enemy = Math.max(state.getHero(3 - rootPlayer).getHealth(), 0);
+            return HALF + (own - enemy) / (2.0 * Card.HERO_INITIAL_HEALTH);
+        }
+    }
+
+    static final int DEFAULT_ITERATIONS = 2000;
+    static final double DEFAULT_EXPLORATION = 1.4;
+    static final int ROLLOUT_MOVES = 200;
+    static final long REWARD_SCALE = 1000;
+    static final double HALF = 0.5;
+    static final long NANOS_PER_MILLI = 1_000_000;
+}
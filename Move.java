@@ -0,0 +1,182 @@
+package main;
+
+/**
+ * A move of the current player, encoded in one int so lists of moves need no objects.
+ * The lowest bits keep the command and the next ones keep its arguments:
+ * the index of the card in hand or the row and column of the attacker, the affected row
+ * or the column of the attacker, and the row and column of the attacked card.
+ */
+public final class Move {
+    /**
+     * for coding style
+     */
+    private Move() {
+    }
+
+    /**
+     * @return the move that ends the turn
+     */
+    public static int endTurn() {
+        return encode(Command.END_PLAYER_TURN, 0, 0, 0, 0);
+    }
+
+    /**
+     * @param handIdx the index of the card in hand
+     * @return the move that places the card on the table
+     */
+    public static int placeCard(final int handIdx) {
+        return encode(Command.PLACE_CARD, handIdx, 0, 0, 0);
+    }
+
+    /**
+     * @param handIdx the index of the environment card in hand
+     * @param affectedRow the row that will be affected
+     * @return the move that uses the environment card
+     */
+    public static int useEnvironmentCard(final int handIdx, final int affectedRow) {
+        return encode(Command.USE_ENVIRONMENT_CARD, handIdx, affectedRow, 0, 0);
+    }
+
+    /**
+     * @param attackerX the row of the card that attacks
+     * @param attackerY the column of the card that attacks
+     * @param attackedX the row of the card that is attacked
+     * @param attackedY the column of the card that is attacked
+     * @return the move where a card attacks another card
+     */
+    public static int cardAttack(final int attackerX, final int attackerY,
+                                 final int attackedX, final int attackedY) {
+        return encode(Command.CARD_USES_ATTACK, attackerX, attackerY, attackedX, attackedY);
+    }
+
+    /**
+     * @param attackerX the row of the card that uses its ability
+     * @param attackerY the column of the card that uses its ability
+     * @param attackedX the row of the card on which the ability is used
+     * @param attackedY the column of the card on which the ability is used
+     * @return the move where a card uses its ability
+     */
+    public static int cardAbility(final int attackerX, final int attackerY,
+                                  final int attackedX, final int attackedY) {
+        return encode(Command.CARD_USES_ABILITY, attackerX, attackerY, attackedX, attackedY);
+    }
+
+    /**
+     * @param attackerX the row of the card that attacks
+     * @param attackerY the column of the card that attacks
+     * @return the move where a card attacks the enemy hero
+     */
+    public static int attackHero(final int attackerX, final int attackerY) {
+        return encode(Command.USE_ATTACK_HERO, attackerX, attackerY, 0, 0);
+    }
+
+    /**
+     * @param affectedRow the row that will be affected
+     * @return the move where the hero uses its ability
+     */
+    public static int heroAbility(final int affectedRow) {
+        return encode(Command.USE_HERO_ABILITY, 0, affectedRow, 0, 0);
+    }
+
+    private static int encode(final Command command, final int first, final int second,
+                              final int third, final int fourth) {
+        return command.ordinal()
+                | first << FIRST_SHIFT
+                | second << SECOND_SHIFT
+                | third << THIRD_SHIFT
+                | fourth << FOURTH_SHIFT;
+    }
+
+    /**
+     * @param move an encoded move
+     * @return the command of the move
+     */
+    public static Command getCommand(final int move) {
+        return COMMANDS[move & COMMAND_MASK];
+    }
+
+    /**
+     * @param move a move that places or uses a card from hand
+     * @return the index of the card in hand
+     */
+    public static int getHandIdx(final int move) {
+        return (move >>> FIRST_SHIFT) & FIRST_MASK;
+    }
+
+    /**
+     * @param move a move that uses an environment card or the ability of a hero
+     * @return the row that will be affected
+     */
+    public static int getAffectedRow(final int move) {
+        return (move >>> SECOND_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @param move a move where a card attacks or uses its ability
+     * @return the row of the card
+     */
+    public static int getAttackerX(final int move) {
+        return (move >>> FIRST_SHIFT) & FIRST_MASK;
+    }
+
+    /**
+     * @param move a move where a card attacks or uses its ability
+     * @return the column of the card
+     */
+    public static int getAttackerY(final int move) {
+        return (move >>> SECOND_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @param move a move where a card attacks or uses its ability on another card
+     * @return the row of the other card
+     */
+    public static int getAttackedX(final int move) {
+        return (move >>> THIRD_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @param move a move where a card attacks or uses its ability on another card
+     * @return the column of the other card
+     */
+    public static int getAttackedY(final int move) {
+        return (move >>> FOURTH_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @param move an encoded move
+     * @return the move written as the command and its arguments
+     */
+    public static String toString(final int move) {
+        Command command = getCommand(move);
+        switch (command) {
+            case PLACE_CARD:
+                return command.getName() + "(" + getHandIdx(move) + ")";
+            case USE_ENVIRONMENT_CARD:
+                return command.getName() + "(" + getHandIdx(move) + ", "
+                        + getAffectedRow(move) + ")";
+            case CARD_USES_ATTACK:
+            case CARD_USES_ABILITY:
+                return command.getName() + "(" + getAttackerX(move) + ", " + getAttackerY(move)
+                        + " -> " + getAttackedX(move) + ", " + getAttackedY(move) + ")";
+            case USE_ATTACK_HERO:
+                return command.getName() + "(" + getAttackerX(move) + ", "
+                        + getAttackerY(move) + ")";
+            case USE_HERO_ABILITY:
+                return command.getName() + "(" + getAffectedRow(move) + ")";
+            default:
+                return command.getName();
+        }
+    }
+
+    private static final Command[] COMMANDS = Command.values();
+
+    static final int COMMAND_MASK = 0x1F;
+    static final int FIRST_SHIFT = 5;
+    static final int FIRST_MASK = 0xFF;
+    static final int SECOND_SHIFT = 13;
+    static final int THIRD_SHIFT = 17;
+    static final int FOURTH_SHIFT = 21;
+    static final int FIELD_MASK = 0xF;
+    static final int MAX_HAND_IDX = FIRST_MASK;
+}
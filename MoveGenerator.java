@@ -0,0 +1,305 @@
+package main;
+
+/**
+ * Lists the legal moves of the current player of a game, for GameState.listMoves. The moves
+ * are kept between two lists in three parts: the moves of the cards in hand, the moves of every
+ * card on the table and the abilities of the hero. Every part keeps what its moves depend on
+ * (the mana of the player, the version of the hand, the sizes and the versions of the rows)
+ * and only the parts whose inputs changed are listed again. The moves are still found with
+ * the check methods of Player, so they are the moves the actions of the input accept; with
+ * the assertions enabled, every list is also compared with a list made from scratch.
+ */
+public final class MoveGenerator {
+    private final GameState state;
+    private final Position attackerPosition = new Position(0, 0);
+    private final Position attackedPosition = new Position(0, 0);
+
+    private int[] handMoves = new int[Hand.INITIAL_CAPACITY * HAND_MOVES_PER_CARD];
+    private int handCount;
+    private int handPlayer;
+    private int handVersion;
+    private int handMana;
+    private int handRowSizes;
+
+    private final int[][] cardMoves = new int[SLOTS][];
+    private final int[] cardCounts = new int[SLOTS];
+    private final long[] cardStamps = new long[SLOTS];
+
+    private final int[] heroMoves = new int[Board.TABLE_MAX_ROWS];
+    private int heroCount;
+    private int heroPlayer;
+    private int heroMana;
+    private boolean heroActed;
+
+    /**
+     * Constructor for MoveGenerator class
+     * @param state the game whose moves are listed
+     */
+    public MoveGenerator(final GameState state) {
+        this.state = state;
+        invalidate();
+    }
+
+    /**
+     * Forget the moves kept from the previous lists, needed when the table, the players or
+     * the heroes of the game are replaced
+     */
+    public void invalidate() {
+        handPlayer = 0;
+        heroPlayer = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            cardStamps[i] = -1;
+        }
+    }
+
+    /**
+     * List the legal moves of the current player, see GameState.listMoves
+     * @param moves the array where the moves are written, at least GameState.MAX_MOVES long
+     * @return the number of moves, ending the turn is always the last one
+     */
+    public int generate(final int[] moves) {
+        Board board = state.getBoard();
+        int playerIdx = state.getCurrentPlayerIndex();
+        int enemyIdx = 3 - playerIdx;
+        Player player = state.getCurrentPlayer();
+
+        updateHandMoves(board, player, playerIdx);
+        System.arraycopy(handMoves, 0, moves, 0, handCount);
+        int count = handCount;
+
+        for (int x = 0; x < Board.TABLE_MAX_ROWS; x++) {
+            if (!Player.isOwnRow(playerIdx, x)) {
+                continue;
+            }
+            for (int y = 0; y < board.getRowSize(x); y++) {
+                int slot = x * Board.TABLE_MAX_COLS + y;
+                long stamp = cardStamp(board, playerIdx, x, y);
+                if (cardStamps[slot] != stamp) {
+                    if (cardMoves[slot] == null) {
+                        cardMoves[slot] = new int[MAX_CARD_MOVES];
+                    }
+                    cardCounts[slot] = listCardMoves(board, player, playerIdx, enemyIdx, x, y,
+                            cardMoves[slot], 0);
+                    cardStamps[slot] = stamp;
+                }
+                System.arraycopy(cardMoves[slot], 0, moves, count, cardCounts[slot]);
+                count += cardCounts[slot];
+            }
+        }
+
+        updateHeroMoves(board, player, playerIdx);
+        System.arraycopy(heroMoves, 0, moves, count, heroCount);
+        count += heroCount;
+
+        moves[count++] = Move.endTurn();
+        assert matchesScan(moves, count);
+        return count;
+    }
+
+    /**
+     * List again the moves of the cards in hand if the hand, the mana or the sizes of the
+     * rows of the player changed: the cards are placed there and Heart Hound moves the
+     * stolen card there
+     */
+    private void updateHandMoves(final Board board, final Player player, final int playerIdx) {
+        Hand hand = player.getHand();
+        int rowSizes = 0;
+        for (int row = 0; row < Board.TABLE_MAX_ROWS; row++) {
+            if (Player.isOwnRow(playerIdx, row)) {
+                rowSizes = rowSizes * (Board.TABLE_MAX_COLS + 1) + board.getRowSize(row);
+            }
+        }
+
+        if (handPlayer == playerIdx && handVersion == hand.getVersion()
+                && handMana == player.getMana() && handRowSizes == rowSizes) {
+            return;
+        }
+
+        if (handMoves.length < hand.size() * HAND_MOVES_PER_CARD) {
+            handMoves = new int[hand.size() * HAND_MOVES_PER_CARD];
+        }
+        handCount = listHandMoves(board, player, playerIdx, handMoves, 0);
+        handPlayer = playerIdx;
+        handVersion = hand.getVersion();
+        handMana = player.getMana();
+        handRowSizes = rowSizes;
+    }
+
+    /**
+     * List again the abilities of the hero if the player, the mana or the hero changed
+     */
+    private void updateHeroMoves(final Board board, final Player player, final int playerIdx) {
+        Card hero = state.getHero(playerIdx);
+        boolean acted = hero.hasActed(board.getTurn());
+
+        if (heroPlayer == playerIdx && heroMana == player.getMana() && heroActed == acted) {
+            return;
+        }
+
+        heroCount = listHeroMoves(board, player, playerIdx, heroMoves, 0);
+        heroPlayer = playerIdx;
+        heroMana = player.getMana();
+        heroActed = acted;
+    }
+
+    /**
+     * Get the stamp of the moves of a card on the table: the versions of the row of the card,
+     * of the rows of the enemy and, if the card can use its ability on the cards of its
+     * player or has no ability, of the other row of its player. The versions never decrease,
+     * so the sum changes whenever one of the rows changed; the lowest bit tells which rows
+     * were added, as a different card on the same position can depend on other rows
+     */
+    private long cardStamp(final Board board, final int playerIdx, final int x, final int y) {
+        boolean allRows = board.get(x, y).getArchetype().getTarget()
+                != CardArchetype.Target.ENEMY;
+        long stamp = 0;
+        for (int row = 0; row < Board.TABLE_MAX_ROWS; row++) {
+            if (row == x || allRows || Player.isEnemyRow(playerIdx, row)) {
+                stamp += board.getRowVersion(row);
+            }
+        }
+        if (allRows) {
+            return stamp << 1 | 1;
+        }
+        return stamp << 1;
+    }
+
+    /**
+     * List the legal moves of the current player from scratch
+     * @param moves the array where the moves are written
+     * @return the number of moves
+     */
+    private int scanMoves(final int[] moves) {
+        Board board = state.getBoard();
+        int playerIdx = state.getCurrentPlayerIndex();
+        Player player = state.getCurrentPlayer();
+
+        int count = listHandMoves(board, player, playerIdx, moves, 0);
+        for (int x = 0; x < Board.TABLE_MAX_ROWS; x++) {
+            if (!Player.isOwnRow(playerIdx, x)) {
+                continue;
+            }
+            for (int y = 0; y < board.getRowSize(x); y++) {
+                count = listCardMoves(board, player, playerIdx, 3 - playerIdx, x, y, moves,
+                        count);
+            }
+        }
+        count = listHeroMoves(board, player, playerIdx, moves, count);
+        moves[count++] = Move.endTurn();
+        return count;
+    }
+
+    /**
+     * @return true if the moves are the ones listed from scratch, in the same order
+     */
+    private boolean matchesScan(final int[] moves, final int count) {
+        int[] scanned = new int[GameState.MAX_MOVES];
+        if (scanMoves(scanned) != count) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (scanned[i] != moves[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * List the cards that can be placed and the environment cards that can be used
+     */
+    private static int listHandMoves(final Board board, final Player player,
+                                     final int playerIdx, final int[] moves, final int count) {
+        Hand hand = player.getHand();
+        int newCount = count;
+
+        for (int i = 0; i < hand.size() && i <= Move.MAX_HAND_IDX; i++) {
+            if (player.checkPlaceCard(board, playerIdx, i) == null) {
+                moves[newCount++] = Move.placeCard(i);
+            }
+        }
+
+        for (int i = hand.nextEnvironment(0); i >= 0 && i <= Move.MAX_HAND_IDX;
+             i = hand.nextEnvironment(i + 1)) {
+            for (int row = 0; row < Board.TABLE_MAX_ROWS; row++) {
+                if (player.checkEnvironmentCard(i, board, row, playerIdx) == null) {
+                    moves[newCount++] = Move.useEnvironmentCard(i, row);
+                }
+            }
+        }
+        return newCount;
+    }
+
+    /**
+     * List the rows where the hero of the current player can use its ability
+     */
+    private int listHeroMoves(final Board board, final Player player, final int playerIdx,
+                              final int[] moves, final int count) {
+        Card hero = state.getHero(playerIdx);
+        int newCount = count;
+        for (int row = 0; row < Board.TABLE_MAX_ROWS; row++) {
+            if (player.checkHeroAbility(board, row, playerIdx, hero) == null) {
+                moves[newCount++] = Move.heroAbility(row);
+            }
+        }
+        return newCount;
+    }
+
+    /**
+     * List the attacks and the ability of a card of the current player. A card without an
+     * ability can use it on every card of the table, which only ends its turn
+     * @param board the table of the game
+     * @param player the current player
+     * @param playerIdx the index of the current player
+     * @param enemyIdx the index of the enemy
+     * @param x the row of the card
+     * @param y the column of the card
+     * @param moves the array where the moves are written
+     * @param count the number of moves already written
+     * @return the number of moves written
+     */
+    private int listCardMoves(final Board board, final Player player, final int playerIdx,
+                              final int enemyIdx, final int x, final int y, final int[] moves,
+                              final int count) {
+        int newCount = count;
+        attackerPosition.setX(x);
+        attackerPosition.setY(y);
+
+        CardArchetype.Target target = board.get(x, y).getArchetype().getTarget();
+        int abilityTarget = 0;
+        if (target == CardArchetype.Target.CURRENT_PLAYER) {
+            abilityTarget = playerIdx;
+        } else if (target == CardArchetype.Target.ENEMY) {
+            abilityTarget = enemyIdx;
+        }
+
+        for (int row = 0; row < Board.TABLE_MAX_ROWS; row++) {
+            boolean enemyRow = Player.isOwnRow(enemyIdx, row);
+            boolean abilityRow = abilityTarget == 0 || Player.isOwnRow(abilityTarget, row);
+            if (!enemyRow && !abilityRow) {
+                continue;
+            }
+            attackedPosition.setX(row);
+            for (int col = 0; col < board.getRowSize(row); col++) {
+                attackedPosition.setY(col);
+                if (enemyRow && player.checkCardAttack(board, playerIdx, attackerPosition,
+                        attackedPosition) == null) {
+                    moves[newCount++] = Move.cardAttack(x, y, row, col);
+                }
+                if (abilityRow && player.checkCardAbility(board, playerIdx, attackerPosition,
+                        attackedPosition) == null) {
+                    moves[newCount++] = Move.cardAbility(x, y, row, col);
+                }
+            }
+        }
+
+        if (player.checkAttackHero(board, playerIdx, attackerPosition) == null) {
+            moves[newCount++] = Move.attackHero(x, y);
+        }
+        return newCount;
+    }
+
+    static final int SLOTS = Board.TABLE_MAX_ROWS * Board.TABLE_MAX_COLS;
+    static final int HAND_MOVES_PER_CARD = 2;
+    static final int MAX_CARD_MOVES = 2 * SLOTS + 1;
+}
@@ -0,0 +1,179 @@
+package main;
+
+import java.util.Arrays;
+
+/**
+ * The changes made to a game, recorded so they can be taken back without copying the state.
+ * Every change of the table, of a hand, of a deck, of the mana, of a hero or of the turn
+ * records what it replaced: the old health or attack of a card, a card removed from a row with
+ * its position, the frozen cards before they were unfrozen, the mana before it was spent and so
+ * on. The records are kept in arrays that only grow, so recording does not allocate once the
+ * journal is big enough. A position in the journal is taken with mark and the game is brought
+ * back to it with undoTo, taking back the records from the last one, at any depth.
+ * The changes made while taking back records are not recorded.
+ */
+public final class MoveJournal {
+    private int[] kinds = new int[INITIAL_CAPACITY];
+    private int[] firsts = new int[INITIAL_CAPACITY];
+    private int[] seconds = new int[INITIAL_CAPACITY];
+    private int[] thirds = new int[INITIAL_CAPACITY];
+    private Object[] targets = new Object[INITIAL_CAPACITY];
+    private Card[] cards = new Card[INITIAL_CAPACITY];
+    private int size;
+    private boolean undoing;
+
+    /**
+     * Get the current position in the journal
+     * @return the number of records, to be given to undoTo
+     */
+    public int mark() {
+        return size;
+    }
+
+    /**
+     * Take back the changes recorded after a position, from the last one
+     * @param mark a position returned by mark
+     */
+    public void undoTo(final int mark) {
+        if (mark < 0 || mark > size) {
+            throw new IllegalArgumentException("Mark: " + mark + ", Size: " + size);
+        }
+        undoing = true;
+        try {
+            while (size > mark) {
+                size--;
+                undo(size);
+                targets[size] = null;
+                cards[size] = null;
+            }
+        } finally {
+            undoing = false;
+        }
+    }
+
+    /**
+     * Forget all the records, the changes can no longer be taken back
+     */
+    public void clear() {
+        Arrays.fill(targets, 0, size, null);
+        Arrays.fill(cards, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Get the number of records
+     * @return the number of changes that can be taken back
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Record a change, unless the change is made while taking back records
+     * @param kind the kind of the change, one of the constants of this class
+     * @param target the object that was changed
+     * @param first the first value needed to take back the change
+     * @param second the second value needed to take back the change
+     * @param third the third value needed to take back the change
+     * @param card the card needed to take back the change, or null
+     */
+    void record(final int kind, final Object target, final int first, final int second,
+                final int third, final Card card) {
+        if (undoing) {
+            return;
+        }
+        if (size == kinds.length) {
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            firsts = Arrays.copyOf(firsts, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+            thirds = Arrays.copyOf(thirds, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            cards = Arrays.copyOf(cards, capacity);
+        }
+        kinds[size] = kind;
+        firsts[size] = first;
+        seconds[size] = second;
+        thirds[size] = third;
+        targets[size] = target;
+        cards[size] = card;
+        size++;
+    }
+
+    /**
+     * Take back one record
+     * @param index the position of the record
+     */
+    private void undo(final int index) {
+        int first = firsts[index];
+        int second = seconds[index];
+        int third = thirds[index];
+        Card card = cards[index];
+
+        switch (kinds[index]) {
+            case SET_HEALTH:
+                ((Board) targets[index]).setHealth(first, second, third);
+                break;
+            case SET_ATTACK:
+                ((Board) targets[index]).setAttackDamage(first, second, third);
+                break;
+            case SET_ACTED:
+                ((Board) targets[index]).restoreActed(first, second, third);
+                break;
+            case SET_FROZEN:
+                ((Board) targets[index]).restoreFrozen(third);
+                break;
+            case ADD:
+                Board board = (Board) targets[index];
+                board.remove(first, board.getRowSize(first) - 1);
+                break;
+            case REMOVE:
+                ((Board) targets[index]).insert(first, second, card, third != 0);
+                break;
+            case NEXT_TURN:
+                ((Board) targets[index]).previousTurn();
+                break;
+            case HAND_ADD:
+                Hand hand = (Hand) targets[index];
+                hand.remove(hand.size() - 1);
+                break;
+            case HAND_REMOVE:
+                ((Hand) targets[index]).add(first, card);
+                break;
+            case DRAW:
+                ((Deck) targets[index]).undraw(card);
+                break;
+            case MANA:
+                ((Player) targets[index]).setMana(third);
+                break;
+            case END_TURN:
+                ((Player) targets[index]).setEndTurn(third != 0);
+                break;
+            case HERO:
+                card.setHealth(first);
+                card.setActed(second);
+                break;
+            case GAME:
+                ((GameState) targets[index]).restoreTurn(first, second, third);
+                break;
+            default:
+                throw new IllegalStateException("Unknown record: " + kinds[index]);
+        }
+    }
+
+    static final int SET_HEALTH = 0;
+    static final int SET_ATTACK = 1;
+    static final int SET_ACTED = 2;
+    static final int SET_FROZEN = 3;
+    static final int ADD = 4;
+    static final int REMOVE = 5;
+    static final int NEXT_TURN = 6;
+    static final int HAND_ADD = 7;
+    static final int HAND_REMOVE = 8;
+    static final int DRAW = 9;
+    static final int MANA = 10;
+    static final int END_TURN = 11;
+    static final int HERO = 12;
+    static final int GAME = 13;
+    static final int INITIAL_CAPACITY = 256;
+}
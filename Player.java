@@ -1,24 +1,34 @@
 package main;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.util.ArrayList;
 
 public final class Player {
-    private final ArrayList<Card> hand;
+    private final Hand hand;
     private int mana;
     private boolean endTurn;
+    private MoveJournal journal;
 
     /**
      * Constructor for class Player
      */
     public Player() {
-        hand = new ArrayList<>();
+        hand = new Hand();
         endTurn = false;
         this.mana = 0;
     }
 
+    /**
+     * Copy constructor for class Player, the cards in hand are copied
+     * @param player the player that will be copied
+     */
+    public Player(final Player player) {
+        hand = new Hand(player.hand);
+        endTurn = player.endTurn;
+        this.mana = player.mana;
+    }
+
     /**
      * Add a card in player's hand
      * @param card the card that will be added in hand
@@ -29,55 +39,84 @@ public final class Player {
 
     /**
      * Place a card on the table
-     * @param table the table where the card will be placed
+     * @param board the table where the card will be placed
      * @param playerIdx the index of the player who will place the card
      * @param handIdx the index of the card
      * @param node the node where the output will be added
      * @return  1 if the action causes an error
      *          2 if the action is executed without error
      */
-    public int placeCardOnTable(final ArrayList<ArrayList<Card>> table, final int playerIdx,
+    public int placeCardOnTable(final Board board, final int playerIdx,
                                 final int handIdx, final ObjectNode node) {
-        if (hand.get(handIdx).isEnvironmentType()) {
-            node.put("error", "Cannot place environment card on table.");
+        String error = checkPlaceCard(board, playerIdx, handIdx);
+        if (error != null) {
+            node.put("error", error);
             node.put("handIdx", 0);
             return 1;
         }
 
-        if (hand.get(handIdx).getMana() > this.mana) {
-            node.put("error", "Not enough mana to place card on table.");
-            node.put("handIdx", 0);
-            return 1;
+        applyPlaceCard(board, playerIdx, handIdx);
+        node.remove("command");
+        return 2;
+    }
+
+    /**
+     * Check if a card can be placed on the table
+     * @param board the table where the card will be placed
+     * @param playerIdx the index of the player who will place the card
+     * @param handIdx the index of the card
+     * @return null if the card can be placed, or the error message otherwise
+     */
+    public String checkPlaceCard(final Board board, final int playerIdx, final int handIdx) {
+        Card card = hand.get(handIdx);
+
+        if (card.isEnvironmentType()) {
+            return "Cannot place environment card on table.";
         }
 
-        int rowNumber;
+        if (card.getMana() > this.mana) {
+            return "Not enough mana to place card on table.";
+        }
 
-        if (playerIdx == 2 && hand.get(handIdx).isBackRow()) {
-            rowNumber = PLAYER_TWO_BACK_ROW;
-        } else if (playerIdx == 2 && hand.get(handIdx).isFrontRow()) {
-            rowNumber = PLAYER_TWO_FRONT_ROW;
-        } else if (playerIdx == 1 && hand.get(handIdx).isBackRow()) {
-            rowNumber = PLAYER_ONE_BACK_ROW;
-        } else {
-            rowNumber = PLAYER_ONE_FRONT_ROW;
+        if (board.isRowFull(getPlacementRow(card, playerIdx))) {
+            return "Cannot place card on table since row is full.";
         }
 
-        if (table.get(rowNumber).size() < TABLE_MAX_COLS) {
-            table.get(rowNumber).add(hand.get(handIdx));
-            setMana(getMana() - hand.get(handIdx).getMana());
-            this.hand.remove(handIdx);
-            node.remove("command");
-            return 2;
-        } else {
-            node.put("error", "Cannot place card on table since row is full.");
-            node.put("handIdx", 0);
-            return 1;
+        return null;
+    }
+
+    /**
+     * Place a card on the table, the card must pass checkPlaceCard
+     * @param board the table where the card will be placed
+     * @param playerIdx the index of the player who will place the card
+     * @param handIdx the index of the card
+     */
+    public void applyPlaceCard(final Board board, final int playerIdx, final int handIdx) {
+        Card card = hand.remove(handIdx);
+        board.add(getPlacementRow(card, playerIdx), card);
+        setMana(getMana() - card.getMana());
+    }
+
+    /**
+     * Get the row where a card is placed
+     * @param card the card that will be placed
+     * @param playerIdx the index of the player who will place the card
+     * @return the index of the row
+     */
+    public static int getPlacementRow(final Card card, final int playerIdx) {
+        if (playerIdx == 2 && card.isBackRow()) {
+            return PLAYER_TWO_BACK_ROW;
+        } else if (playerIdx == 2 && card.isFrontRow()) {
+            return PLAYER_TWO_FRONT_ROW;
+        } else if (playerIdx == 1 && card.isBackRow()) {
+            return PLAYER_ONE_BACK_ROW;
         }
+        return PLAYER_ONE_FRONT_ROW;
     }
 
     /**
      * Attack a card from the table
-     * @param table the table where the cards are placed
+     * @param board the table where the cards are placed
      * @param playerIdx the index of the player who will attack with a card
      * @param cardAttacker the card that will attack
      * @param cardAttacked the card that will be attacked
@@ -85,64 +124,82 @@ public final class Player {
      * @return 1 if the action causes an error
      *         2 if the action is executed without error
      */
-    public int cardAttack(final ArrayList<ArrayList<Card>> table, final int playerIdx,
+    public int cardAttack(final Board board, final int playerIdx,
                           final Position cardAttacker, final Position cardAttacked,
                           final ObjectNode node) {
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        ObjectNode coordinatesNode1 = objectMapper.createObjectNode();
+        ObjectNode coordinatesNode1 = node.putObject("cardAttacker");
         coordinatesNode1.put("x", cardAttacker.getX());
         coordinatesNode1.put("y", cardAttacker.getY());
-        node.put("cardAttacker", coordinatesNode1);
 
-        ObjectNode coordinatesNode2 = objectMapper.createObjectNode();
+        ObjectNode coordinatesNode2 = node.putObject("cardAttacked");
         coordinatesNode2.put("x", cardAttacked.getX());
         coordinatesNode2.put("y", cardAttacked.getY());
-        node.put("cardAttacked", coordinatesNode2);
 
-        if ((playerIdx == 1 && (cardAttacked.getX() == PLAYER_ONE_FRONT_ROW
-                || cardAttacked.getX() == PLAYER_ONE_BACK_ROW))
-                || (playerIdx == 2 && (cardAttacked.getX() == PLAYER_TWO_BACK_ROW
-                || cardAttacked.getX() == PLAYER_TWO_FRONT_ROW))) {
-            node.put("error", "Attacked card does not belong to the enemy.");
+        String error = checkCardAttack(board, playerIdx, cardAttacker, cardAttacked);
+        if (error != null) {
+            node.put("error", error);
             return 1;
         }
 
-        if (table.get(cardAttacker.getX()).get(cardAttacker.getY()).isHasAttacked()
-                || table.get(cardAttacker.getX()).get(cardAttacker.getY()).isUsedAbility()) {
-            node.put("error", "Attacker card has already attacked this turn.");
-            return 1;
-        }
+        applyCardAttack(board, cardAttacker, cardAttacked);
+        return 2;
+    }
 
-        if (table.get(cardAttacker.getX()).get(cardAttacker.getY()).isFrozen()) {
-            node.put("error", "Attacker card is frozen.");
-            return 1;
+    /**
+     * Check if a card can attack another card
+     * @param board the table where the cards are placed
+     * @param playerIdx the index of the player who will attack with a card
+     * @param cardAttacker the card that will attack
+     * @param cardAttacked the card that will be attacked
+     * @return null if the attack can be done, or the error message otherwise
+     */
+    public String checkCardAttack(final Board board, final int playerIdx,
+                                  final Position cardAttacker, final Position cardAttacked) {
+        if (isOwnRow(playerIdx, cardAttacked.getX())) {
+            return "Attacked card does not belong to the enemy.";
         }
 
-        for (Card card : table.get(playerIdx)) {
-                if (card.isTank() && !table.get(cardAttacked.getX()).get(cardAttacked.getY()).
-                        isTank()) {
-                    node.put("error", "Attacked card is not of type 'Tank'.");
-                    return 1;
-                }
-            }
+        Card attacker = board.get(cardAttacker.getX(), cardAttacker.getY());
 
-        int actualHealth = table.get(cardAttacked.getX()).get(cardAttacked.getY()).getHealth();
-        int damage = table.get(cardAttacker.getX()).get(cardAttacker.getY()).getAttackDamage();
+        if (attacker.hasActed(board.getTurn())) {
+            return "Attacker card has already attacked this turn.";
+        }
 
-        table.get(cardAttacked.getX()).get(cardAttacked.getY()).setHealth(actualHealth - damage);
-        table.get(cardAttacker.getX()).get(cardAttacker.getY()).setHasAttacked(true);
+        if (board.isFrozen(cardAttacker.getX(), cardAttacker.getY())) {
+            return "Attacker card is frozen.";
+        }
 
-        if (table.get(cardAttacked.getX()).get(cardAttacked.getY()).getHealth() <= 0) {
-            table.get(cardAttacked.getX()).remove(cardAttacked.getY());
+        if (board.hasTank(playerIdx)
+                && !board.get(cardAttacked.getX(), cardAttacked.getY()).isTank()) {
+            return "Attacked card is not of type 'Tank'.";
         }
 
-        return 2;
+        return null;
+    }
+
+    /**
+     * Attack a card, the attack must pass checkCardAttack. The attacked card is removed
+     * from the table if it has no health left
+     * @param board the table where the cards are placed
+     * @param cardAttacker the card that will attack
+     * @param cardAttacked the card that will be attacked
+     */
+    public void applyCardAttack(final Board board, final Position cardAttacker,
+                                final Position cardAttacked) {
+        Card attacker = board.get(cardAttacker.getX(), cardAttacker.getY());
+        Card attacked = board.get(cardAttacked.getX(), cardAttacked.getY());
+        board.setHealth(cardAttacked.getX(), cardAttacked.getY(),
+                attacked.getHealth() - attacker.getAttackDamage());
+        board.setActed(cardAttacker.getX(), cardAttacker.getY());
+
+        if (attacked.getHealth() <= 0) {
+            board.remove(cardAttacked.getX(), cardAttacked.getY());
+        }
     }
 
     /**
      * Use ability on a card from the table
-     * @param table the table where the cards are placed
+     * @param board the table where the cards are placed
      * @param playerIdx the index of the player who will use the ability of the card
      * @param cardAttacker the card that will use the ability
      * @param cardAttacked the card on which the ability will be used
@@ -150,144 +207,111 @@ public final class Player {
      * @return  1 if the action causes an error
      *          2 if the action is executed without error
      */
-    public int cardUsesAbility(final ArrayList<ArrayList<Card>> table, final int playerIdx,
+    public int cardUsesAbility(final Board board, final int playerIdx,
                                final Position cardAttacker, final Position cardAttacked,
                                final ObjectNode node) {
-        ObjectMapper newObjectMapper = new ObjectMapper();
-
-        ObjectNode coordinatesNode1 = newObjectMapper.createObjectNode();
+        ObjectNode coordinatesNode1 = node.putObject("cardAttacker");
         coordinatesNode1.put("x", cardAttacker.getX());
         coordinatesNode1.put("y", cardAttacker.getY());
-        node.put("cardAttacker", coordinatesNode1);
 
-        ObjectNode coordinatesNode2 = newObjectMapper.createObjectNode();
+        ObjectNode coordinatesNode2 = node.putObject("cardAttacked");
         coordinatesNode2.put("x", cardAttacked.getX());
         coordinatesNode2.put("y", cardAttacked.getY());
-        node.put("cardAttacked", coordinatesNode2);
 
-        if (table.get(cardAttacker.getX()).get(cardAttacker.getY()).isFrozen()) {
-            node.put("error", "Attacker card is frozen.");
+        String error = checkCardAbility(board, playerIdx, cardAttacker, cardAttacked);
+        if (error != null) {
+            node.put("error", error);
             return 1;
         }
 
-        if (table.get(cardAttacker.getX()).get(cardAttacker.getY()).isHasAttacked()
-                || table.get(cardAttacker.getX()).get(cardAttacker.getY()).isUsedAbility()) {
-            node.put("error", "Attacker card has already attacked this turn.");
-            return 1;
+        applyCardAbility(board, cardAttacker, cardAttacked);
+        return 2;
+    }
+
+    /**
+     * Check if a card can use its ability on another card
+     * @param board the table where the cards are placed
+     * @param playerIdx the index of the player who will use the ability of the card
+     * @param cardAttacker the card that will use the ability
+     * @param cardAttacked the card on which the ability will be used
+     * @return null if the ability can be used, or the error message otherwise
+     */
+    public String checkCardAbility(final Board board, final int playerIdx,
+                                   final Position cardAttacker, final Position cardAttacked) {
+        Card attacker = board.get(cardAttacker.getX(), cardAttacker.getY());
+
+        if (board.isFrozen(cardAttacker.getX(), cardAttacker.getY())) {
+            return "Attacker card is frozen.";
         }
 
-        String attackerName = table.get(cardAttacker.getX()).get(cardAttacker.getY()).getName();
+        if (attacker.hasActed(board.getTurn())) {
+            return "Attacker card has already attacked this turn.";
+        }
 
-        if (attackerName.equals("Disciple")) {
-            if ((playerIdx == 1 && (cardAttacked.getX() == PLAYER_TWO_BACK_ROW
-                    || cardAttacked.getX() == PLAYER_TWO_FRONT_ROW))
-                    || (playerIdx == 2 && (cardAttacked.getX() == PLAYER_ONE_FRONT_ROW
-                    || cardAttacked.getX() == PLAYER_ONE_BACK_ROW))) {
-                node.put("error", "Attacked card does not belong to the current player.");
-                return 1;
-            }
+        CardArchetype archetype = attacker.getArchetype();
+
+        if (archetype.getTarget() == CardArchetype.Target.CURRENT_PLAYER
+                && isEnemyRow(playerIdx, cardAttacked.getX())) {
+            return "Attacked card does not belong to the current player.";
         }
 
-        if (attackerName.equals("The Ripper") || attackerName.equals("Miraj")
-                || attackerName.equals("The Cursed One")) {
-            if ((playerIdx == 1 && (cardAttacked.getX() == PLAYER_ONE_FRONT_ROW
-                    || cardAttacked.getX() == PLAYER_ONE_BACK_ROW))
-                    || (playerIdx == 2 && (cardAttacked.getX() == PLAYER_TWO_BACK_ROW
-                    || cardAttacked.getX() == PLAYER_TWO_FRONT_ROW))) {
-                node.put("error", "Attacked card does not belong to the enemy.");
-                return 1;
+        if (archetype.getTarget() == CardArchetype.Target.ENEMY) {
+            if (isOwnRow(playerIdx, cardAttacked.getX())) {
+                return "Attacked card does not belong to the enemy.";
             }
 
-            for (Card card : table.get(playerIdx)) {
-                if (card.isTank() && !table.get(cardAttacked.getX()).get(cardAttacked.getY())
-                        .isTank()) {
-                    node.put("error", "Attacked card is not of type 'Tank'.");
-                    return 1;
-                }
+            if (board.hasTank(playerIdx)
+                    && !board.get(cardAttacked.getX(), cardAttacked.getY()).isTank()) {
+                return "Attacked card is not of type 'Tank'.";
             }
         }
 
-        switch (attackerName) {
-            case "Disciple" -> {
-                int currentHealth = table.get(cardAttacked.getX()).get(cardAttacked.getY())
-                        .getHealth();
-                table.get(cardAttacked.getX()).get(cardAttacked.getY())
-                        .setHealth(currentHealth + 2);
-            }
-            case "The Ripper" -> {
-                int currentAttack = table.get(cardAttacked.getX()).get(cardAttacked.getY())
-                        .getAttackDamage();
-                table.get(cardAttacked.getX()).get(cardAttacked.getY())
-                        .setAttackDamage(Math.max(currentAttack - 2, 0));
-            }
-            case "Miraj" -> {
-                int attackedHealth = table.get(cardAttacked.getX()).get(cardAttacked.getY())
-                        .getHealth();
-                int attackerHealth = table.get(cardAttacker.getX()).get(cardAttacker.getY())
-                        .getHealth();
-                table.get(cardAttacked.getX()).get(cardAttacked.getY()).setHealth(attackerHealth);
-                table.get(cardAttacker.getX()).get(cardAttacker.getY()).setHealth(attackedHealth);
-            }
-            case "The Cursed One" -> {
-                int health = table.get(cardAttacked.getX()).get(cardAttacked.getY()).getHealth();
-                int attackDamage = table.get(cardAttacked.getX()).get(cardAttacked.getY())
-                        .getAttackDamage();
-                table.get(cardAttacked.getX()).get(cardAttacked.getY()).setHealth(attackDamage);
-                table.get(cardAttacked.getX()).get(cardAttacked.getY()).setAttackDamage(health);
-                if (attackDamage == 0) {
-                    table.get(cardAttacked.getX()).remove(cardAttacked.getY());
-                }
-            }
-            default -> {
-            }
+        return null;
+    }
+
+    /**
+     * Use the ability of a card, the ability must pass checkCardAbility
+     * @param board the table where the cards are placed
+     * @param cardAttacker the card that will use the ability
+     * @param cardAttacked the card on which the ability will be used
+     */
+    public void applyCardAbility(final Board board, final Position cardAttacker,
+                                 final Position cardAttacked) {
+        Card attacker = board.get(cardAttacker.getX(), cardAttacker.getY());
+        CardArchetype archetype = attacker.getArchetype();
+
+        if (archetype.getCardAbility() != null) {
+            archetype.getCardAbility().apply(board, cardAttacker, cardAttacked);
         }
 
-        table.get(cardAttacker.getX()).get(cardAttacker.getY()).setUsedAbility(true);
-        return 2;
+        board.setActed(cardAttacker.getX(), cardAttacker.getY());
     }
 
     /**
      * Attack a hero card
-     * @param table the table where the cards are placed
+     * @param board the table where the cards are placed
      * @param playerIdx the index of the player who will attack
      * @param cardAttacker the card that will attack the hero
      * @param hero the hero that will be attacked
+     * @param stats the counters updated when the hero dies
      * @param node the node where the output will pe added
      * @return 1 if the action causes an error
      *         2 if the action is executed without error
      */
-    public int useAttackHero(final ArrayList<ArrayList<Card>> table, final int playerIdx,
-                             final Position cardAttacker, final Card hero, final ObjectNode node) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        ObjectNode coordinatesNode = objectMapper.createObjectNode();
+    public int useAttackHero(final Board board, final int playerIdx,
+                             final Position cardAttacker, final Card hero,
+                             final GameStats stats, final ObjectNode node) {
+        ObjectNode coordinatesNode = node.putObject("cardAttacker");
         coordinatesNode.put("x", cardAttacker.getX());
         coordinatesNode.put("y", cardAttacker.getY());
-        node.put("cardAttacker", coordinatesNode);
 
-        if (table.get(cardAttacker.getX()).get(cardAttacker.getY()).isFrozen()) {
-            node.put("error", "Attacker card is frozen.");
+        String error = checkAttackHero(board, playerIdx, cardAttacker);
+        if (error != null) {
+            node.put("error", error);
             return 1;
         }
 
-        if (table.get(cardAttacker.getX()).get(cardAttacker.getY()).isHasAttacked()
-                || table.get(cardAttacker.getX()).get(cardAttacker.getY()).isUsedAbility()) {
-            node.put("error", "Attacker card has already attacked this turn.");
-            return 1;
-        }
-
-        for (Card card : table.get(playerIdx)) {
-            if (card.isTank()) {
-                node.put("error", "Attacked card is not of type 'Tank'.");
-                return 1;
-            }
-        }
-
-        int attackDamage = table.get(cardAttacker.getX()).get(cardAttacker.getY())
-                .getAttackDamage();
-        hero.setHealth(hero.getHealth() - attackDamage);
-        table.get(cardAttacker.getX()).get(cardAttacker.getY()).setHasAttacked(true);
-
-        if (hero.getHealth() <= 0) {
+        if (applyAttackHero(board, cardAttacker, hero)) {
             node.remove("command");
             node.remove("x");
             node.remove("y");
@@ -295,10 +319,10 @@ public final class Player {
 
             if (playerIdx == 1) {
                 node.put("gameEnded", "Player one killed the enemy hero.");
-                GamePlay.setPlayerOneWins(GamePlay.getPlayerOneWins() + 1);
+                stats.setPlayerOneWins(stats.getPlayerOneWins() + 1);
             } else {
                 node.put("gameEnded", "Player two killed the enemy hero.");
-                GamePlay.setPlayerTwoWins(GamePlay.getPlayerTwoWins() + 1);
+                stats.setPlayerTwoWins(stats.getPlayerTwoWins() + 1);
             }
             return 1;
         }
@@ -306,156 +330,216 @@ public final class Player {
         return 2;
     }
 
+    /**
+     * Check if a card can attack the enemy hero
+     * @param board the table where the cards are placed
+     * @param playerIdx the index of the player who will attack
+     * @param cardAttacker the card that will attack the hero
+     * @return null if the attack can be done, or the error message otherwise
+     */
+    public String checkAttackHero(final Board board, final int playerIdx,
+                                  final Position cardAttacker) {
+        Card attacker = board.get(cardAttacker.getX(), cardAttacker.getY());
+
+        if (board.isFrozen(cardAttacker.getX(), cardAttacker.getY())) {
+            return "Attacker card is frozen.";
+        }
+
+        if (attacker.hasActed(board.getTurn())) {
+            return "Attacker card has already attacked this turn.";
+        }
+
+        if (board.hasTank(playerIdx)) {
+            return "Attacked card is not of type 'Tank'.";
+        }
+
+        return null;
+    }
+
+    /**
+     * Attack the enemy hero, the attack must pass checkAttackHero
+     * @param board the table where the cards are placed
+     * @param cardAttacker the card that will attack the hero
+     * @param hero the hero that will be attacked
+     * @return true if the hero has no health left and false otherwise
+     */
+    public boolean applyAttackHero(final Board board, final Position cardAttacker,
+                                   final Card hero) {
+        Card attacker = board.get(cardAttacker.getX(), cardAttacker.getY());
+        recordHero(hero);
+        hero.setHealth(hero.getHealth() - attacker.getAttackDamage());
+        board.setActed(cardAttacker.getX(), cardAttacker.getY());
+        return hero.getHealth() <= 0;
+    }
+
     /**
      * Use ability of a hero card
-     * @param table the table where the cards are placed
+     * @param board the table where the cards are placed
      * @param affectedRow the row that will be affected
      * @param playerIdx the index of the player who will use the hero's ability
-     * @param hero the hero card that will use the ability
-     * @param node the node where the output will be placed
+     * @param hero the hero card
+     * @param node the node where the output will be added
      * @return 1 if the action causes an error
      *         2 if the action is executed without error
      */
-    public int useHeroAbility(final ArrayList<ArrayList<Card>> table, final int affectedRow,
+    public int useHeroAbility(final Board board, final int affectedRow,
                               final int playerIdx, final Card hero, final ObjectNode node) {
-        if (hero.getMana() > this.getMana()) {
+        String error = checkHeroAbility(board, affectedRow, playerIdx, hero);
+        if (error != null) {
             node.put("affectedRow", affectedRow);
-            node.put("error", "Not enough mana to use hero's ability.");
+            node.put("error", error);
             return 1;
         }
 
-        if (hero.isHasAttacked() || hero.isUsedAbility()) {
-            node.put("affectedRow", affectedRow);
-            node.put("error", "Hero has already attacked this turn.");
-            return 1;
+        applyHeroAbility(board, affectedRow, hero);
+        return 2;
+    }
+
+    /**
+     * Check if a hero can use its ability on a row
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     * @param playerIdx the index of the player who will use the hero's ability
+     * @param hero the hero card
+     * @return null if the ability can be used, or the error message otherwise
+     */
+    public String checkHeroAbility(final Board board, final int affectedRow,
+                                   final int playerIdx, final Card hero) {
+        if (hero.getMana() > this.getMana()) {
+            return "Not enough mana to use hero's ability.";
         }
 
-        if (hero.getName().equals("Lord Royce") || hero.getName().equals("Empress Thorina")) {
-            if (playerIdx == 1 && (affectedRow == PLAYER_ONE_FRONT_ROW
-                    || affectedRow == PLAYER_ONE_BACK_ROW)
-                    || (playerIdx == 2 && (affectedRow == PLAYER_TWO_BACK_ROW
-                    || affectedRow == PLAYER_TWO_FRONT_ROW))) {
-                node.put("affectedRow", affectedRow);
-                node.put("error", "Selected row does not belong to the enemy.");
-                return 1;
-            }
+        if (hero.hasActed(board.getTurn())) {
+            return "Hero has already attacked this turn.";
         }
 
-        if (hero.getName().equals("General Kocioraw") || hero.getName().equals("King Mudface")) {
-            if (playerIdx == 1 && (affectedRow == PLAYER_TWO_BACK_ROW
-                    || affectedRow == PLAYER_TWO_FRONT_ROW)
-                    || (playerIdx == 2 && (affectedRow == PLAYER_ONE_FRONT_ROW
-                    || affectedRow == PLAYER_ONE_BACK_ROW))) {
-                node.put("affectedRow", affectedRow);
-                node.put("error", "Selected row does not belong to the current player.");
-                return 1;
-            }
+        CardArchetype archetype = hero.getArchetype();
+
+        if (archetype.getTarget() == CardArchetype.Target.ENEMY
+                && isOwnRow(playerIdx, affectedRow)) {
+            return "Selected row does not belong to the enemy.";
+        }
+
+        if (archetype.getTarget() == CardArchetype.Target.CURRENT_PLAYER
+                && isEnemyRow(playerIdx, affectedRow)) {
+            return "Selected row does not belong to the current player.";
         }
 
-        switch (hero.getName()) {
-            case "Lord Royce":
-                int maxAttack = 0;
-                int maxIdx = 0;
-                for (Card card : table.get(affectedRow)) {
-                    if (card.getAttackDamage() > maxAttack) {
-                        maxIdx = table.get(affectedRow).indexOf(card);
-                        maxAttack = card.getAttackDamage();
-                    }
-                }
-                table.get(affectedRow).get(maxIdx).setFrozen(true);
-                break;
-            case "Empress Thorina":
-                int maxHealth = 0;
-                maxIdx = 0;
-                for (Card card : table.get(affectedRow)) {
-                    if (card.getHealth() > maxHealth) {
-                        maxIdx = table.get(affectedRow).indexOf(card);
-                        maxHealth = card.getHealth();
-                    }
-                }
-                table.get(affectedRow).remove(maxIdx);
-                break;
-            case "General Kocioraw":
-                for (Card card : table.get(affectedRow)) {
-                    card.setAttackDamage(card.getAttackDamage() + 1);
-                }
-                break;
-            case "King Mudface":
-                for (Card card : table.get(affectedRow)) {
-                    card.setHealth(card.getHealth() + 1);
-                }
-                break;
-            default:
+        return null;
+    }
+
+    /**
+     * Use the ability of a hero, the ability must pass checkHeroAbility
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     * @param hero the hero card
+     */
+    public void applyHeroAbility(final Board board, final int affectedRow, final Card hero) {
+        CardArchetype archetype = hero.getArchetype();
+
+        if (archetype.getRowAbility() != null) {
+            archetype.getRowAbility().apply(board, affectedRow);
         }
 
         this.setMana(this.getMana() - hero.getMana());
-        hero.setUsedAbility(true);
-        return 2;
+        recordHero(hero);
+        hero.setActed(board.getTurn());
     }
 
     /**
      * Use ability of an environment card
      * @param handIdx the index of the environment card
-     * @param table the table where the cards are placed
+     * @param board the table where the cards are placed
      * @param affectedRow the row that will be affected
      * @param playerIdx the index of the player who will use the environment card
      * @param node the node where the output will be placed
      * @return 1 if the action causes an error
      *         2 if the action is executed without error
      */
-    public int useEnvironmentCard(final int handIdx, final ArrayList<ArrayList<Card>> table,
+    public int useEnvironmentCard(final int handIdx, final Board board,
                                   final int affectedRow, final int playerIdx,
                                   final ObjectNode node) {
         node.put("handIdx", handIdx);
         node.put("affectedRow", affectedRow);
 
-        if (!hand.get(handIdx).isEnvironmentType()) {
-            node.put("error", "Chosen card is not of type environment.");
+        String error = checkEnvironmentCard(handIdx, board, affectedRow, playerIdx);
+        if (error != null) {
+            node.put("error", error);
             return 1;
         }
 
-        if (hand.get(handIdx).getMana() > this.mana) {
-            node.put("error", "Not enough mana to use environment card.");
-            return 1;
+        applyEnvironmentCard(handIdx, board, affectedRow);
+        return 2;
+    }
+
+    /**
+     * Check if an environment card can be used on a row
+     * @param handIdx the index of the environment card
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     * @param playerIdx the index of the player who will use the environment card
+     * @return null if the card can be used, or the error message otherwise
+     */
+    public String checkEnvironmentCard(final int handIdx, final Board board,
+                                       final int affectedRow, final int playerIdx) {
+        Card card = hand.get(handIdx);
+
+        if (!card.isEnvironmentType()) {
+            return "Chosen card is not of type environment.";
         }
 
-        if ((playerIdx == 1 && (affectedRow == PLAYER_ONE_FRONT_ROW
-                || affectedRow == PLAYER_ONE_BACK_ROW)
-                || (playerIdx == 2 && (affectedRow == PLAYER_TWO_BACK_ROW
-                || affectedRow == PLAYER_TWO_FRONT_ROW)))) {
-            node.put("error", "Chosen row does not belong to the enemy.");
-            return 1;
+        if (card.getMana() > this.mana) {
+            return "Not enough mana to use environment card.";
         }
 
-        if (hand.get(handIdx).getName().equals("Heart Hound")
-                && table.get(PLAYER_ONE_BACK_ROW - affectedRow).size() == TABLE_MAX_COLS) {
-            node.put("error", "Cannot steal enemy card since the player's row is full.");
-            return 1;
-        } else if (hand.get(handIdx).getName().equals("Firestorm")) {
-            for (Card card : table.get(affectedRow)) {
-                card.setHealth(card.getHealth() - 1);
-            }
-            table.get(affectedRow).removeIf(card -> card.getHealth() <= 0);
-        } else if (hand.get(handIdx).getName().equals("Winterfell")) {
-            for (Card card : table.get(affectedRow)) {
-                card.setFrozen(true);
-            }
-        } else if (hand.get(handIdx).getName().equals("Heart Hound")) {
-            int maxHealth = 0;
-            int maxIdx = 0;
-            for (Card card : table.get(affectedRow)) {
-                if (card.getHealth() > maxHealth) {
-                    maxIdx = table.get(affectedRow).indexOf(card);
-                    maxHealth = card.getHealth();
-                }
-            }
-            table.get(PLAYER_ONE_BACK_ROW - affectedRow).add(table.get(affectedRow).get(maxIdx));
-            table.get(affectedRow).remove(maxIdx);
+        if (isOwnRow(playerIdx, affectedRow)) {
+            return "Chosen row does not belong to the enemy.";
         }
 
-        setMana(getMana() - hand.get(handIdx).getMana());
+        RowCheck rowCheck = card.getArchetype().getRowCheck();
+        if (rowCheck != null) {
+            return rowCheck.check(board, affectedRow);
+        }
+
+        return null;
+    }
+
+    /**
+     * Use an environment card, the card must pass checkEnvironmentCard
+     * @param handIdx the index of the environment card
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     */
+    public void applyEnvironmentCard(final int handIdx, final Board board,
+                                     final int affectedRow) {
+        Card card = hand.get(handIdx);
+        card.getArchetype().getRowAbility().apply(board, affectedRow);
+        setMana(getMana() - card.getMana());
         hand.remove(handIdx);
-        return 2;
+    }
+
+    /**
+     * Check if a row belongs to a player
+     * @param playerIdx the index of the player
+     * @param row the index of the row
+     * @return true if the row is one of the rows of the player and false otherwise
+     */
+    public static boolean isOwnRow(final int playerIdx, final int row) {
+        return (playerIdx == 1 && (row == PLAYER_ONE_FRONT_ROW || row == PLAYER_ONE_BACK_ROW))
+                || (playerIdx == 2 && (row == PLAYER_TWO_BACK_ROW
+                || row == PLAYER_TWO_FRONT_ROW));
+    }
+
+    /**
+     * Check if a row belongs to the enemy of a player
+     * @param playerIdx the index of the player
+     * @param row the index of the row
+     * @return true if the row is one of the rows of the enemy and false otherwise
+     */
+    public static boolean isEnemyRow(final int playerIdx, final int row) {
+        return (playerIdx == 1 && (row == PLAYER_TWO_BACK_ROW || row == PLAYER_TWO_FRONT_ROW))
+                || (playerIdx == 2 && (row == PLAYER_ONE_FRONT_ROW
+                || row == PLAYER_ONE_BACK_ROW));
     }
 
     /**
@@ -463,12 +547,10 @@ public final class Player {
      * @return arraylist that contains the environment type cards
      */
     public ArrayList<Card> getEnvironmentCardsInHand() {
-        ArrayList<Card> environmentCardsInHand = new ArrayList<>();
+        ArrayList<Card> environmentCardsInHand = new ArrayList<>(hand.getEnvironmentCount());
 
-        for (Card card : hand) {
-            if (card.isEnvironmentType()) {
-                environmentCardsInHand.add(card);
-            }
+        for (int i = hand.nextEnvironment(0); i >= 0; i = hand.nextEnvironment(i + 1)) {
+            environmentCardsInHand.add(hand.get(i));
         }
         return environmentCardsInHand;
     }
@@ -486,17 +568,30 @@ public final class Player {
       * @param endTurn boolean
      */
     public void setEndTurn(final boolean endTurn) {
+        if (journal != null) {
+            journal.record(MoveJournal.END_TURN, this, 0, 0, this.endTurn ? 1 : 0, null);
+        }
         this.endTurn = endTurn;
     }
 
     /**
      * Getter for hand member
-     * @return an arraylist that contains the cards the player has in hand
+     * @return the cards the player has in hand
      */
-    public ArrayList<Card> getHand() {
+    public Hand getHand() {
         return hand;
     }
 
+    /**
+     * Get the Zobrist hash of the player: the cards in hand, the mana and whether the
+     * player ended the turn in this round
+     * @return the hash
+     */
+    public long getHash() {
+        return hand.getHash()
+                ^ Zobrist.key(Zobrist.PLAYER, (long) mana << 1 | (endTurn ? 1 : 0));
+    }
+
     /**
      * Getter for mana member
      * @return amount of mana the player hah
@@ -510,12 +605,35 @@ public final class Player {
      * @param mana int number
      */
     public void setMana(final int mana) {
+        if (journal != null) {
+            journal.record(MoveJournal.MANA, this, 0, 0, this.mana, null);
+        }
         this.mana = mana;
     }
 
+    /**
+     * Setter for journal member, the journal also records the changes of the hand and of
+     * the hero of the player
+     * @param journal the journal where the changes are recorded, or null to record nothing
+     */
+    public void setJournal(final MoveJournal journal) {
+        this.journal = journal;
+        hand.setJournal(journal);
+    }
+
+    /**
+     * Record the health and the turn a hero acted in, before the hero changes
+     * @param hero the hero that will change
+     */
+    private void recordHero(final Card hero) {
+        if (journal != null) {
+            journal.record(MoveJournal.HERO, null, hero.getHealth(), hero.getActedTurn(), 0,
+                    hero);
+        }
+    }
+
     static final int PLAYER_ONE_FRONT_ROW = 2;
     static final int PLAYER_ONE_BACK_ROW = 3;
     static final int PLAYER_TWO_FRONT_ROW = 1;
     static final int PLAYER_TWO_BACK_ROW = 0;
-    static final int TABLE_MAX_COLS = 5;
 }
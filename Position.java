@@ -16,6 +16,16 @@ public final class Position {
         }
     }
 
+    /**
+     * Constructor for Position class
+     * @param x the index of the row
+     * @param y the index of the card on the row
+     */
+    public Position(final int x, final int y) {
+        this.x = x;
+        this.y = y;
+    }
+
     /**
      * Getter for x member
      * @return value of x coordinate
@@ -0,0 +1,12 @@
+package main;
+
+@FunctionalInterface
+public interface RowAbility {
+    /**
+     * Use the ability of a hero or of an environment card on a row of the table, the row
+     * must pass the RowCheck of the card
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that will be affected
+     */
+    void apply(Board board, int affectedRow);
+}
@@ -0,0 +1,13 @@
+package main;
+
+@FunctionalInterface
+public interface RowCheck {
+    /**
+     * Check if the ability of a hero or of an environment card can be used on a row, after
+     * the checks shared by all the cards of its type
+     * @param board the table where the cards are placed
+     * @param affectedRow the row that would be affected
+     * @return null if the ability can be used, or the error message otherwise
+     */
+    String check(Board board, int affectedRow);
+}
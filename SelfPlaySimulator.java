@@ -0,0 +1,164 @@
+package main;
+
+import fileio.CardInput;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays games from the start to the end with a policy for every player, to measure the win
+ * rates of decks and heroes. The games are split between the workers of a fork-join pool;
+ * every game has its own state and its own generator, made from the seed of the simulation
+ * and the index of the game, so the results do not depend on the number of workers.
+ */
+public final class SelfPlaySimulator {
+    private final DeckProvider playerOneDecks;
+    private final DeckProvider playerTwoDecks;
+    private final ForkJoinPool pool;
+    private CardDefinition playerOneHero;
+    private CardDefinition playerTwoHero;
+    private SimulationPolicy playerOnePolicy = SimulationPolicies::random;
+    private SimulationPolicy playerTwoPolicy = SimulationPolicies::random;
+
+    /**
+     * Constructor for SelfPlaySimulator class
+     * @param playerOneDecks the decks player one can choose from
+     * @param playerTwoDecks the decks player two can choose from
+     * @param pool the pool where the games are played
+     */
+    public SelfPlaySimulator(final DeckProvider playerOneDecks,
+                             final DeckProvider playerTwoDecks, final ForkJoinPool pool) {
+        this.playerOneDecks = playerOneDecks;
+        this.playerTwoDecks = playerTwoDecks;
+        this.pool = pool;
+    }
+
+    /**
+     * Set the heroes of the two players
+     * @param playerOne the hero of player one
+     * @param playerTwo the hero of player two
+     */
+    public void setHeroes(final CardInput playerOne, final CardInput playerTwo) {
+        this.playerOneHero = CardDefinition.of(playerOne);
+        this.playerTwoHero = CardDefinition.of(playerTwo);
+    }
+
+    /**
+     * Set the policies of the two players, by default both play random moves
+     * @param playerOne the policy of player one
+     * @param playerTwo the policy of player two
+     */
+    public void setPolicies(final SimulationPolicy playerOne, final SimulationPolicy playerTwo) {
+        this.playerOnePolicy = playerOne;
+        this.playerTwoPolicy = playerTwo;
+    }
+
+    /**
+     * Play games between two decks
+     * @param playerOneDeckIdx the deck of player one
+     * @param playerTwoDeckIdx the deck of player two
+     * @param nrGames the number of games
+     * @param seed the seed of the simulation
+     * @return the results of the games
+     */
+    public SimulationResult simulate(final int playerOneDeckIdx, final int playerTwoDeckIdx,
+                                     final int nrGames, final long seed) {
+        if (playerOneHero == null || playerTwoHero == null) {
+            throw new IllegalStateException("The heroes of the simulation are not set.");
+        }
+        return pool.invoke(new SimulationTask(playerOneDeckIdx, playerTwoDeckIdx, seed,
+                0, nrGames));
+    }
+
+    /**
+     * Play one game
+     * @param playerOneDeckIdx the deck of player one
+     * @param playerTwoDeckIdx the deck of player two
+     * @param gameSeed the seed of the game, used to shuffle the decks, choose the starting
+     *                 player and by the policies
+     * @param result the results where the game is recorded
+     */
+    public void playGame(final int playerOneDeckIdx, final int playerTwoDeckIdx,
+                         final long gameSeed, final SimulationResult result) {
+        Random random = new Random(gameSeed);
+        int shuffleSeed = random.nextInt();
+        int startingPlayer = 1 + random.nextInt(2);
+
+        GameState state = new GameState(
+                playerOneDecks.createDeck(playerOneDeckIdx, shuffleSeed),
+                playerTwoDecks.createDeck(playerTwoDeckIdx, shuffleSeed),
+                new Card(playerOneHero), new Card(playerTwoHero), startingPlayer);
+
+        int[] moves = new int[GameState.MAX_MOVES];
+        int performed = 0;
+
+        while (state.getWinner() == 0 && performed < MAX_MOVES_PER_GAME) {
+            SimulationPolicy policy = playerTwoPolicy;
+            if (state.getCurrentPlayerIndex() == 1) {
+                policy = playerOnePolicy;
+            }
+
+            int count = state.listMoves(moves);
+            state.applyMove(moves[policy.choose(state, moves, count, random)]);
+            performed++;
+        }
+
+        result.addGame(state.getWinner(), performed);
+    }
+
+    /**
+     * Mix the seed of the simulation with the index of a game, so the games of a
+     * simulation have unrelated seeds
+     * @param seed the seed of the simulation
+     * @param game the index of the game
+     * @return the seed of the game
+     */
+    static long gameSeed(final long seed, final int game) {
+        return Zobrist.mix(seed + (game + 1) * Zobrist.GOLDEN_GAMMA);
+    }
+
+    /**
+     * Plays a range of games, splitting it in two while it is bigger than GAMES_PER_TASK
+     */
+    private final class SimulationTask extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+        private final int playerOneDeckIdx;
+        private final int playerTwoDeckIdx;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        SimulationTask(final int playerOneDeckIdx, final int playerTwoDeckIdx,
+                       final long seed, final int from, final int to) {
+            this.playerOneDeckIdx = playerOneDeckIdx;
+            this.playerTwoDeckIdx = playerTwoDeckIdx;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SimulationResult result = new SimulationResult();
+                for (int i = from; i < to; i++) {
+                    playGame(playerOneDeckIdx, playerTwoDeckIdx, gameSeed(seed, i), result);
+                }
+                return result;
+            }
+
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(playerOneDeckIdx, playerTwoDeckIdx,
+                    seed, from, middle);
+            SimulationTask right = new SimulationTask(playerOneDeckIdx, playerTwoDeckIdx,
+                    seed, middle, to);
+            left.fork();
+            SimulationResult result = right.compute();
+            return result.add(left.join());
+        }
+    }
+
+    static final int MAX_MOVES_PER_GAME = 2000;
+    static final int GAMES_PER_TASK = 16;
+}
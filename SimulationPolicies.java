@@ -0,0 +1,95 @@
+package main;
+
+import java.util.Random;
+
+/**
+ * The policies used by the simulations
+ */
+public final class SimulationPolicies {
+    /**
+     * for coding style
+     */
+    private SimulationPolicies() {
+    }
+
+    /**
+     * Random: every legal move has the same chance, ending the turn included
+     * @param state the state of the game
+     * @param moves the legal moves
+     * @param count the number of legal moves
+     * @param random the generator of the game
+     * @return the index of the chosen move
+     */
+    public static int random(final GameState state, final int[] moves, final int count,
+                             final Random random) {
+        return random.nextInt(count);
+    }
+
+    /**
+     * Greedy: attacks the enemy hero whenever possible, then attacks or uses abilities on
+     * cards, then uses the heroes and the environment cards, then places the most expensive
+     * card it can, and ends the turn only when nothing else is left. A card without an
+     * ability is never made to use it, since that would only end its turn. The moves of the
+     * same kind are chosen at random
+     * @param state the state of the game
+     * @param moves the legal moves
+     * @param count the number of legal moves
+     * @param random the generator of the game
+     * @return the index of the chosen move
+     */
+    public static int greedy(final GameState state, final int[] moves, final int count,
+                             final Random random) {
+        int bestScore = -1;
+        int bestIdx = count - 1;
+        int ties = 0;
+
+        for (int i = 0; i < count; i++) {
+            int score = score(state, moves[i]);
+            if (score > bestScore) {
+                bestScore = score;
+                bestIdx = i;
+                ties = 1;
+            } else if (score == bestScore) {
+                ties++;
+                if (random.nextInt(ties) == 0) {
+                    bestIdx = i;
+                }
+            }
+        }
+        return bestIdx;
+    }
+
+    /**
+     * @param state the state of the game
+     * @param move a legal move
+     * @return how good the move is for the greedy policy, bigger is better
+     */
+    private static int score(final GameState state, final int move) {
+        switch (Move.getCommand(move)) {
+            case USE_ATTACK_HERO:
+                return ATTACK_HERO_SCORE;
+            case CARD_USES_ABILITY:
+                if (state.getBoard().get(Move.getAttackerX(move), Move.getAttackerY(move))
+                        .getArchetype().getCardAbility() == null) {
+                    return NO_ABILITY_SCORE;
+                }
+                return CARD_SCORE;
+            case CARD_USES_ATTACK:
+                return CARD_SCORE;
+            case USE_HERO_ABILITY:
+            case USE_ENVIRONMENT_CARD:
+                return ABILITY_SCORE;
+            case PLACE_CARD:
+                return PLACE_SCORE + state.getCurrentPlayer().getHand()
+                        .get(Move.getHandIdx(move)).getMana();
+            default:
+                return 0;
+        }
+    }
+
+    static final int ATTACK_HERO_SCORE = 400;
+    static final int CARD_SCORE = 300;
+    static final int ABILITY_SCORE = 200;
+    static final int PLACE_SCORE = 100;
+    static final int NO_ABILITY_SCORE = -2;
+}
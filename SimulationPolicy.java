@@ -0,0 +1,20 @@
+package main;
+
+import java.util.Random;
+
+/**
+ * Chooses the move of the current player in a simulated game
+ */
+@FunctionalInterface
+public interface SimulationPolicy {
+    /**
+     * Choose one of the legal moves
+     * @param state the state of the game, it must not be changed
+     * @param moves the legal moves, as listed by GameState.listMoves
+     * @param count the number of legal moves
+     * @param random the generator of the game, the only source of randomness allowed,
+     *               so a game played with the same seed is always the same
+     * @return the index of the chosen move in the array
+     */
+    int choose(GameState state, int[] moves, int count, Random random);
+}
@@ -0,0 +1,110 @@
+package main;
+
+/**
+ * The results of a batch of simulated games
+ */
+public final class SimulationResult {
+    private long gamesPlayed;
+    private long playerOneWins;
+    private long playerTwoWins;
+    private long draws;
+    private long moves;
+
+    /**
+     * Record a finished game
+     * @param winner the index of the winner, or 0 if the game reached the limit of moves
+     * @param gameMoves the number of moves performed in the game
+     */
+    public void addGame(final int winner, final int gameMoves) {
+        gamesPlayed++;
+        if (winner == 1) {
+            playerOneWins++;
+        } else if (winner == 2) {
+            playerTwoWins++;
+        } else {
+            draws++;
+        }
+        moves += gameMoves;
+    }
+
+    /**
+     * Add the results of another batch to this one
+     * @param result the results of the other batch
+     * @return this result
+     */
+    public SimulationResult add(final SimulationResult result) {
+        gamesPlayed += result.gamesPlayed;
+        playerOneWins += result.playerOneWins;
+        playerTwoWins += result.playerTwoWins;
+        draws += result.draws;
+        moves += result.moves;
+        return this;
+    }
+
+    /**
+     * Getter for gamesPlayed member
+     * @return the number of games played
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Getter for playerOneWins member
+     * @return the number of games won by player one
+     */
+    public long getPlayerOneWins() {
+        return playerOneWins;
+    }
+
+    /**
+     * Getter for playerTwoWins member
+     * @return the number of games won by player two
+     */
+    public long getPlayerTwoWins() {
+        return playerTwoWins;
+    }
+
+    /**
+     * Getter for draws member
+     * @return the number of games stopped at the limit of moves
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Getter for moves member
+     * @return the number of moves performed in all the games
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Get the win rate of player one
+     * @return the fraction of the games won by player one
+     */
+    public double getPlayerOneWinRate() {
+        if (gamesPlayed == 0) {
+            return 0;
+        }
+        return (double) playerOneWins / gamesPlayed;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationResult{"
+                + "gamesPlayed="
+                + gamesPlayed
+                + ", playerOneWins="
+                + playerOneWins
+                + ", playerTwoWins="
+                + playerTwoWins
+                + ", draws="
+                + draws
+                + ", moves="
+                + moves
+                + '}';
+    }
+}
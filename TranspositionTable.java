@@ -0,0 +1,234 @@
+package main;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size table of search results keyed on the Zobrist hash of a game state, shared by
+ * the threads of a search. The table has one entry per index and the index of a hash is given
+ * by its lowest bits; the entries are guarded by a fixed number of locks, every lock guarding
+ * the indexes equal to it modulo the number of locks. An entry is replaced by a result for
+ * another state if it is from an older search or if the new result was searched at least as
+ * deep. The table counts its hits, misses, stores, replacements and refused stores.
+ */
+public final class TranspositionTable {
+    private final long[] keys;
+    private final int[] moves;
+    private final int[] depths;
+    private final double[] values;
+    private final int[] generations;
+    private final Object[] locks;
+    private final int mask;
+    private volatile int generation = 1;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder replacements = new LongAdder();
+    private final LongAdder refusals = new LongAdder();
+
+    /**
+     * A result read from the table, reused between probes so probing does not allocate
+     */
+    public static final class Entry {
+        private int move;
+        private int depth;
+        private double value;
+
+        /**
+         * Getter for move member
+         * @return the best move found for the state, encoded as in Move
+         */
+        public int getMove() {
+            return move;
+        }
+
+        /**
+         * Getter for depth member
+         * @return how deep the state was searched, or how many times it was visited
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Getter for value member
+         * @return the value of the state
+         */
+        public double getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Constructor for TranspositionTable class
+     * @param capacity the number of entries, rounded up to a power of two
+     */
+    public TranspositionTable(final int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, LOCKS) - 1) << 1;
+        this.keys = new long[size];
+        this.moves = new int[size];
+        this.depths = new int[size];
+        this.values = new double[size];
+        this.generations = new int[size];
+        this.mask = size - 1;
+        this.locks = new Object[LOCKS];
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Start a new search: the entries of the previous searches can be replaced by any result
+     */
+    public void newSearch() {
+        generation++;
+    }
+
+    /**
+     * Look for the result of a state
+     * @param hash the hash of the state
+     * @param entry where the result is copied if it is found
+     * @return true if the table has a result for the state and false otherwise
+     */
+    public boolean probe(final long hash, final Entry entry) {
+        int index = (int) hash & mask;
+        synchronized (locks[index & (LOCKS - 1)]) {
+            if (generations[index] != 0 && keys[index] == hash) {
+                entry.move = moves[index];
+                entry.depth = depths[index];
+                entry.value = values[index];
+                hits.increment();
+                return true;
+            }
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Store the result of a state, unless the entry keeps a deeper result of another state
+     * from the same search
+     * @param hash the hash of the state
+     * @param move the best move found for the state
+     * @param depth how deep the state was searched, or how many times it was visited
+     * @param value the value of the state
+     * @return true if the result was stored and false otherwise
+     */
+    public boolean store(final long hash, final int move, final int depth, final double value) {
+        int index = (int) hash & mask;
+        int current = generation;
+        synchronized (locks[index & (LOCKS - 1)]) {
+            boolean empty = generations[index] == 0;
+            if (!empty && keys[index] != hash && generations[index] == current
+                    && depths[index] > depth) {
+                refusals.increment();
+                return false;
+            }
+            if (!empty && keys[index] != hash) {
+                replacements.increment();
+            }
+            keys[index] = hash;
+            moves[index] = move;
+            depths[index] = depth;
+            values[index] = value;
+            generations[index] = current;
+        }
+        stores.increment();
+        return true;
+    }
+
+    /**
+     * Remove all the results
+     */
+    public void clear() {
+        for (int i = 0; i < LOCKS; i++) {
+            synchronized (locks[i]) {
+                for (int index = i; index < keys.length; index += LOCKS) {
+                    generations[index] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of entries
+     * @return the capacity of the table
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Getter for hits member
+     * @return the number of probes that found a result
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Getter for misses member
+     * @return the number of probes that found no result
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Getter for stores member
+     * @return the number of results stored
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Getter for replacements member
+     * @return the number of results stored over the result of another state
+     */
+    public long getReplacements() {
+        return replacements.sum();
+    }
+
+    /**
+     * Getter for refusals member
+     * @return the number of results not stored to keep a deeper result
+     */
+    public long getRefusals() {
+        return refusals.sum();
+    }
+
+    /**
+     * Get the hit rate of the probes
+     * @return the hits divided by the probes, 0 if nothing was probed
+     */
+    public double getHitRate() {
+        long probes = getHits() + getMisses();
+        if (probes == 0) {
+            return 0;
+        }
+        return (double) getHits() / probes;
+    }
+
+    @Override
+    public String toString() {
+        return "TranspositionTable{"
+                + "capacity="
+                + getCapacity()
+                + ", hits="
+                + getHits()
+                + ", misses="
+                + getMisses()
+                + ", hitRate="
+                + getHitRate()
+                + ", stores="
+                + getStores()
+                + ", replacements="
+                + getReplacements()
+                + ", refusals="
+                + getRefusals()
+                + '}';
+    }
+
+    static final int LOCKS = 64;
+}
@@ -0,0 +1,94 @@
+package main;
+
+/**
+ * The keys of the Zobrist hash of a game state. Instead of tables of random numbers, the key
+ * of a feature (a card at a position with its stats, the mana of a player, ...) is made by
+ * mixing the kind of the feature and its packed values with the finalizer of SplitMix64, so
+ * any value has a key and the keys need no memory. The hash of a state is the exclusive or of
+ * the keys of all its features, so a change of a feature only replaces its key.
+ */
+public final class Zobrist {
+    /**
+     * for coding style
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Get the key of a feature
+     * @param kind the kind of the feature, one of the constants of this class
+     * @param value the values of the feature, packed in one number
+     * @return the key
+     */
+    public static long key(final int kind, final long value) {
+        return mix(value + (kind + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Get the key of a card on the table
+     * @param slot the position of the card, row * TABLE_MAX_COLS + column
+     * @param card the card
+     * @param frozen true if the card is frozen
+     * @param acted true if the card attacked or used its ability in this turn
+     * @return the key
+     */
+    public static long cardKey(final int slot, final Card card, final boolean frozen,
+                               final boolean acted) {
+        long value = card.getDefinition().getId();
+        value = value << STAT_BITS | (card.getHealth() & STAT_MASK);
+        value = value << STAT_BITS | (card.getAttackDamage() & STAT_MASK);
+        value = value << 1 | (frozen ? 1 : 0);
+        value = value << 1 | (acted ? 1 : 0);
+        value = value << SLOT_BITS | slot;
+        return key(CARD, value);
+    }
+
+    /**
+     * Get the key of a card in hand, only the definition matters since the cards in hand
+     * are never changed
+     * @param index the position of the card in hand
+     * @param card the card
+     * @return the key
+     */
+    public static long handKey(final int index, final Card card) {
+        return key(HAND, (long) card.getDefinition().getId() << Integer.SIZE | index);
+    }
+
+    /**
+     * Get the key of a card in a deck, only the definition matters since the cards in
+     * a deck are never changed
+     * @param depth the position of the card counted from the bottom of the deck, which does
+     *              not change when the cards above it are drawn
+     * @param card the card
+     * @return the key
+     */
+    public static long deckKey(final int depth, final Card card) {
+        return key(DECK, (long) card.getDefinition().getId() << Integer.SIZE | depth);
+    }
+
+    /**
+     * Mix the bits of a number, the finalizer of SplitMix64
+     * @param value the number
+     * @return the mixed number
+     */
+    public static long mix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * MIX_ONE;
+        z = (z ^ (z >>> 27)) * MIX_TWO;
+        return z ^ (z >>> 31);
+    }
+
+    static final int CARD = 0;
+    static final int HAND = 1;
+    static final int PLAYER = 2;
+    static final int HERO = 3;
+    static final int DECK = 4;
+    static final int TURN = 5;
+    static final int SIDE = 6;
+    static final int STAT_BITS = 12;
+    static final int STAT_MASK = (1 << STAT_BITS) - 1;
+    static final int SLOT_BITS = 5;
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    static final long MIX_ONE = 0xBF58476D1CE4E5B9L;
+    static final long MIX_TWO = 0x94D049BB133111EBL;
+}
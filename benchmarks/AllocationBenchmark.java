@@ -0,0 +1,118 @@
+package main;
+
+import checker.CheckerConstants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import fileio.Input;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures how many bytes the engine allocates for every action of an input file.
+ * The output is written to a stream that drops everything, so only the garbage made
+ * by the games and by the serialization is counted. It also measures how many bytes
+ * the games of the file keep in the heap for every action once they are built.
+ */
+public final class AllocationBenchmark {
+    /**
+     * for coding style
+     */
+    private AllocationBenchmark() {
+    }
+
+    /**
+     * @param args the name of the input file and, optionally, the number of iterations
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void main(final String[] args) throws IOException {
+        String fileName = args[0];
+        int iterations = DEFAULT_ITERATIONS;
+        if (args.length > 1) {
+            iterations = Integer.parseInt(args[1]);
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Input inputData = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH + fileName),
+                Input.class);
+
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            replay(objectMapper, inputData);
+        }
+
+        long actions = 0;
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            actions += replay(objectMapper, inputData);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.println(fileName + ": " + actions + " actions, " + allocated
+                + " bytes allocated, " + (allocated / Math.max(actions, 1)) + " bytes/action");
+
+        GamePlay[] kept = new GamePlay[RETAINED_COPIES];
+        long usedBefore = usedHeap();
+        for (int i = 0; i < RETAINED_COPIES; i++) {
+            kept[i] = new GamePlay(inputData, objectMapper.getNodeFactory());
+        }
+        long retained = usedHeap() - usedBefore;
+        long keptActions = 0;
+        for (Game game : kept[0].getGames()) {
+            keptActions += game.getActions().size();
+        }
+        System.out.println(fileName + ": " + (retained / RETAINED_COPIES) + " bytes retained by "
+                + keptActions + " actions, "
+                + (retained / Math.max(keptActions * RETAINED_COPIES, 1)) + " bytes/action");
+    }
+
+    /**
+     * @return the bytes used in the heap after a collection
+     */
+    private static long usedHeap() {
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Play all the games of the input once
+     * @param objectMapper the mapper that owns the generator and the node factory
+     * @param inputData contains the information extracted from input
+     * @return the number of actions performed
+     * @throws IOException in case of exceptions to writing
+     */
+    private static long replay(final ObjectMapper objectMapper,
+                               final Input inputData) throws IOException {
+        long actions = 0;
+
+        try (JsonGenerator output = objectMapper.getFactory()
+                .createGenerator(OutputStream.nullOutputStream())) {
+            output.useDefaultPrettyPrinter();
+            output.writeStartArray();
+
+            GamePlay start = new GamePlay(inputData, objectMapper.getNodeFactory());
+            for (Game game : start.getGames()) {
+                start.play(game, output);
+                actions += game.getActions().size();
+            }
+
+            output.writeEndArray();
+        }
+
+        return actions;
+    }
+
+    static final int WARMUP_ITERATIONS = 20;
+    static final int DEFAULT_ITERATIONS = 50;
+    static final int RETAINED_COPIES = 20;
+    static final int GC_ROUNDS = 3;
+}
@@ -0,0 +1,37 @@
+package main;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks with the GC profiler, so the allocation rate is reported
+ * next to the throughput (the same as passing -prof gc to the JMH jar)
+ */
+public final class BenchmarkRunner {
+    /**
+     * for coding style
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * @param args optional regular expression that selects the benchmarks
+     * @throws RunnerException in case the benchmarks fail
+     */
+    public static void main(final String[] args) throws RunnerException {
+        String include = "main\\..*Benchmark";
+        if (args.length > 0) {
+            include = args[0];
+        }
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,78 @@
+package main;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import fileio.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the whole GamePlay.play loop over generated games
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GamePlayBenchmark {
+    @Param({"10"})
+    private int nrGames;
+
+    @Param({"200", "1000"})
+    private int nrActions;
+
+    private Input input;
+    private JsonGenerator output;
+
+    /**
+     * Generate the games once for the whole trial
+     * @throws IOException in case of exceptions to writing
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = SyntheticGames.createInput(SEED, NR_DECKS, NR_CARDS_IN_DECK, nrGames, nrActions);
+        output = SyntheticGames.createNullGenerator();
+        output.writeStartArray();
+    }
+
+    /**
+     * @throws IOException in case of exceptions to writing
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        output.close();
+    }
+
+    /**
+     * Play all the generated games, building the games from the input as Main does
+     * @return the engine, so the work is not optimized away
+     * @throws IOException in case of exceptions to writing
+     */
+    @Benchmark
+    public GamePlay play() throws IOException {
+        GamePlay gamePlay = new GamePlay(input, JsonNodeFactory.instance);
+        for (Game game : gamePlay.getGames()) {
+            gamePlay.play(game, output);
+        }
+        return gamePlay;
+    }
+
+    static final long SEED = 42;
+    static final int NR_DECKS = 3;
+    static final int NR_CARDS_IN_DECK = 30;
+}
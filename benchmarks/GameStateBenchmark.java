@@ -0,0 +1,136 @@
+package main;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import fileio.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of taking and restoring a snapshot of a game, compared with replaying the game
+ * from the start up to the same action, cost of listing the legal moves with the moves
+ * kept from the previous list or from scratch, cost of the hash of a state, and cost of
+ * ending a turn and taking it back with a journal
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameStateBenchmark {
+    @Param({"50", "200"})
+    private int nrActions;
+
+    private Input input;
+    private JsonGenerator output;
+    private GameState state;
+    private GameState snapshot;
+    private final int[] moves = new int[GameState.MAX_MOVES];
+    private GameState journaled;
+    private final MoveJournal journal = new MoveJournal();
+
+    /**
+     * Play one generated game and keep its state at the last action
+     * @throws IOException in case of exceptions to writing
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = SyntheticGames.createInput(SEED, NR_DECKS, NR_CARDS_IN_DECK, 1, nrActions);
+        output = SyntheticGames.createNullGenerator();
+        output.writeStartArray();
+        state = replay();
+        snapshot = state.snapshot();
+        journaled = state.snapshot();
+        journaled.setJournal(journal);
+    }
+
+    /**
+     * @return the snapshot of the state
+     */
+    @Benchmark
+    public GameState snapshot() {
+        return state.snapshot();
+    }
+
+    /**
+     * @return the state brought back to the snapshot
+     */
+    @Benchmark
+    public GameState restore() {
+        state.restore(snapshot);
+        return state;
+    }
+
+    /**
+     * @return the number of legal moves, listed again on a state that did not change
+     */
+    @Benchmark
+    public int listMoves() {
+        return state.listMoves(moves);
+    }
+
+    /**
+     * @return the number of legal moves of a new snapshot, listed from scratch (compare
+     *         with snapshot)
+     */
+    @Benchmark
+    public int listMovesOnSnapshot() {
+        return state.snapshot().listMoves(moves);
+    }
+
+    /**
+     * @return the hash of the state, from the hashes kept by its parts
+     */
+    @Benchmark
+    public long hash() {
+        return state.getHash();
+    }
+
+    /**
+     * @return the hash of a new snapshot (compare with snapshot)
+     */
+    @Benchmark
+    public long hashOnSnapshot() {
+        return state.snapshot().getHash();
+    }
+
+    /**
+     * @return the state after ending the turn (unfreezing, new round, drawing) and taking
+     *         the change back
+     */
+    @Benchmark
+    public GameState endTurnAndUndo() {
+        journaled.applyMove(Move.endTurn());
+        journal.undoTo(0);
+        return journaled;
+    }
+
+    /**
+     * @return the state reached by playing the game again from the start
+     * @throws IOException in case of exceptions to writing
+     */
+    @Benchmark
+    public GameState replay() throws IOException {
+        GamePlay gamePlay = new GamePlay(input, JsonNodeFactory.instance);
+        gamePlay.play(gamePlay.getGames().get(0), output);
+        return gamePlay.getState();
+    }
+
+    static final long SEED = 42;
+    static final int NR_DECKS = 3;
+    static final int NR_CARDS_IN_DECK = 30;
+}
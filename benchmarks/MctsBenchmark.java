@@ -0,0 +1,99 @@
+package main;
+
+import fileio.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterations per second of the tree search, for a growing number of workers, from a
+ * state in the middle of a game
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MctsBenchmark {
+    @Param({"1", "4"})
+    private int workers;
+
+    private ForkJoinPool pool;
+    private MctsAgent agent;
+    private GameState state;
+    private long seed;
+
+    /**
+     * Play the start of a game with the greedy policy and build the agent
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Input input = SyntheticGames.createInput(SEED, NR_DECKS, NR_CARDS_IN_DECK, 1, 0);
+        DeckProvider playerOneDecks = new DeckProvider(input.getPlayerOneDecks(),
+                NR_CARDS_IN_DECK);
+        DeckProvider playerTwoDecks = new DeckProvider(input.getPlayerTwoDecks(),
+                NR_CARDS_IN_DECK);
+        state = new GameState(playerOneDecks.createDeck(0, (int) SEED),
+                playerTwoDecks.createDeck(1, (int) SEED),
+                new Card(CardDefinition.of(
+                        input.getGames().get(0).getStartGame().getPlayerOneHero())),
+                new Card(CardDefinition.of(
+                        input.getGames().get(0).getStartGame().getPlayerTwoHero())), 1);
+
+        Random random = new Random(SEED);
+        int[] moves = new int[GameState.MAX_MOVES];
+        for (int i = 0; i < OPENING_MOVES && state.getWinner() == 0; i++) {
+            int count = state.listMoves(moves);
+            int chosen = SimulationPolicies.greedy(state, moves, count, random);
+            while (state.applyMove(moves[chosen]) != null) {
+                moves[chosen] = moves[count - 1];
+                count--;
+                chosen = SimulationPolicies.greedy(state, moves, count, random);
+            }
+        }
+
+        pool = new ForkJoinPool(workers);
+        agent = new MctsAgent(pool, workers);
+        agent.setIterations(ITERATIONS);
+    }
+
+    /**
+     * Stop the workers
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * @return the move chosen by a search of ITERATIONS iterations
+     */
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public int chooseMove() {
+        seed++;
+        return agent.chooseMove(state, seed);
+    }
+
+    static final long SEED = 42;
+    static final int NR_DECKS = 3;
+    static final int NR_CARDS_IN_DECK = 30;
+    static final int OPENING_MOVES = 20;
+    static final int ITERATIONS = 512;
+}
@@ -0,0 +1,158 @@
+package main;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.Coordinates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the Player combat methods on a table with all the rows full.
+ * The methods change the table, so every invocation works on a copy of a table built once
+ * per trial (a setup at every invocation would cost more than the methods themselves);
+ * copyTable measures the copy alone.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerBenchmark {
+
+    /**
+     * A full table where player one attacks the front row of player two
+     */
+    @State(Scope.Thread)
+    public static class AttackState {
+        @Param({"Miraj", "The Ripper", "The Cursed One", "Disciple"})
+        private String attackerName;
+
+        private final Random random = new Random(SEED);
+        private final Player player = new Player();
+        private Board template;
+        private Position attacker;
+        private Position attacked;
+        private Position tank;
+        private ObjectNode node;
+
+        /**
+         * Build the table and the coordinates of the attack
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            template = SyntheticGames.createFullTable(random, attackerName);
+            if (template.get(Player.PLAYER_ONE_FRONT_ROW, 0).getName().equals(attackerName)) {
+                attacker = position(Player.PLAYER_ONE_FRONT_ROW, 0);
+            } else {
+                attacker = position(Player.PLAYER_ONE_BACK_ROW, 0);
+            }
+
+            if (attackerName.equals("Disciple")) {
+                attacked = position(Player.PLAYER_ONE_FRONT_ROW, 1);
+            } else {
+                attacked = position(Player.PLAYER_TWO_FRONT_ROW, 0);
+            }
+            tank = position(Player.PLAYER_TWO_FRONT_ROW, 0);
+            node = JsonNodeFactory.instance.objectNode();
+        }
+    }
+
+    /**
+     * A full table and a hero that can use its ability
+     */
+    @State(Scope.Thread)
+    public static class HeroState {
+        @Param({"Lord Royce", "Empress Thorina", "King Mudface", "General Kocioraw"})
+        private String heroName;
+
+        private final Random random = new Random(SEED);
+        private final Player player = new Player();
+        private Board template;
+        private Card heroTemplate;
+        private int affectedRow;
+        private ObjectNode node;
+
+        /**
+         * Build the table and the hero
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            template = SyntheticGames.createFullTable(random, "Sentinel");
+            heroTemplate = new Card(SyntheticGames.createHero(heroName, 1));
+
+            if (heroName.equals("Lord Royce") || heroName.equals("Empress Thorina")) {
+                affectedRow = Player.PLAYER_TWO_FRONT_ROW;
+            } else {
+                affectedRow = Player.PLAYER_ONE_FRONT_ROW;
+            }
+            node = JsonNodeFactory.instance.objectNode();
+        }
+    }
+
+    /**
+     * @param state the table and the attack
+     * @return the result of the attack
+     */
+    @Benchmark
+    public int cardAttack(final AttackState state) {
+        state.node.removeAll();
+        return state.player.cardAttack(new Board(state.template), 1, state.attacker,
+                state.tank, state.node);
+    }
+
+    /**
+     * @param state the table and the attack
+     * @return the result of the ability
+     */
+    @Benchmark
+    public int cardUsesAbility(final AttackState state) {
+        state.node.removeAll();
+        return state.player.cardUsesAbility(new Board(state.template), 1, state.attacker,
+                state.attacked, state.node);
+    }
+
+    /**
+     * @param state the table and the hero
+     * @return the result of the ability
+     */
+    @Benchmark
+    public int useHeroAbility(final HeroState state) {
+        state.node.removeAll();
+        state.player.setMana(HERO_MANA);
+        return state.player.useHeroAbility(new Board(state.template), state.affectedRow, 1,
+                new Card(state.heroTemplate), state.node);
+    }
+
+    /**
+     * @param state the table
+     * @return the copy of the table, the part of the other benchmarks that is not measured
+     *         in the Player methods
+     */
+    @Benchmark
+    public Board copyTable(final AttackState state) {
+        return new Board(state.template);
+    }
+
+    private static Position position(final int x, final int y) {
+        Coordinates coordinates = new Coordinates();
+        coordinates.setX(x);
+        coordinates.setY(y);
+        return new Position(coordinates);
+    }
+
+    static final long SEED = 7;
+    static final int HERO_MANA = 10;
+}
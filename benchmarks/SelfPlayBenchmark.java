@@ -0,0 +1,82 @@
+package main;
+
+import fileio.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Games per second of the self-play simulator, for both policies and a growing number
+ * of workers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelfPlayBenchmark {
+    @Param({"random", "greedy"})
+    private String policy;
+
+    @Param({"1", "4"})
+    private int workers;
+
+    private ForkJoinPool pool;
+    private SelfPlaySimulator simulator;
+    private long seed;
+
+    /**
+     * Build the decks and the simulator once for the whole trial
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Input input = SyntheticGames.createInput(SEED, NR_DECKS, NR_CARDS_IN_DECK, 1, 0);
+        pool = new ForkJoinPool(workers);
+        simulator = new SelfPlaySimulator(
+                new DeckProvider(input.getPlayerOneDecks(), NR_CARDS_IN_DECK),
+                new DeckProvider(input.getPlayerTwoDecks(), NR_CARDS_IN_DECK), pool);
+        simulator.setHeroes(input.getGames().get(0).getStartGame().getPlayerOneHero(),
+                input.getGames().get(0).getStartGame().getPlayerTwoHero());
+        if (policy.equals("greedy")) {
+            simulator.setPolicies(SimulationPolicies::greedy, SimulationPolicies::greedy);
+        }
+    }
+
+    /**
+     * Stop the workers
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * @return the results of a batch of games, every batch with a new seed
+     */
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public SimulationResult simulate() {
+        seed++;
+        return simulator.simulate(0, 1, GAMES, seed);
+    }
+
+    static final long SEED = 42;
+    static final int NR_DECKS = 3;
+    static final int NR_CARDS_IN_DECK = 30;
+    static final int GAMES = 256;
+}
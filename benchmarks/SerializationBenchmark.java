@@ -0,0 +1,83 @@
+package main;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import fileio.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of writing cards and lists of cards, the output of the query commands
+ * (the successors of createListNode and createCardNode)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"5", "30"})
+    private int nrCards;
+
+    private GamePlay gamePlay;
+    private ArrayList<Card> cards;
+    private Card card;
+    private JsonGenerator output;
+
+    /**
+     * Build the cards once for the whole trial
+     * @throws IOException in case of exceptions to writing
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(SEED);
+        Input input = SyntheticGames.createInput(SEED, 1, nrCards, 0, 0);
+        gamePlay = new GamePlay(input, JsonNodeFactory.instance);
+        cards = SyntheticGames.createCards(random, nrCards);
+        card = new Card(SyntheticGames.createMinion(random, "Goliath"));
+        output = SyntheticGames.createNullGenerator();
+    }
+
+    /**
+     * @throws IOException in case of exceptions to writing
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        output.close();
+    }
+
+    /**
+     * @throws IOException in case of exceptions to writing
+     */
+    @Benchmark
+    public void writeCardList() throws IOException {
+        gamePlay.writeCardList(output, cards);
+    }
+
+    /**
+     * @throws IOException in case of exceptions to writing
+     */
+    @Benchmark
+    public void writeCard() throws IOException {
+        gamePlay.writeCard(output, card);
+    }
+
+    static final long SEED = 11;
+}
@@ -0,0 +1,300 @@
+package main;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import fileio.ActionsInput;
+import fileio.CardInput;
+import fileio.Coordinates;
+import fileio.DecksInput;
+import fileio.GameInput;
+import fileio.Input;
+import fileio.StartGameInput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds inputs, cards and tables for the benchmarks. Everything is generated from a
+ * seed, so two runs with the same seed work on exactly the same games.
+ */
+public final class SyntheticGames {
+    private static final String[] MINIONS = {"Sentinel", "Berserker", "Goliath", "Warden",
+        "The Ripper", "Miraj", "The Cursed One", "Disciple"};
+    private static final String[] ENVIRONMENTS = {"Firestorm", "Winterfell", "Heart Hound"};
+    private static final String[] HEROES = {"Lord Royce", "Empress Thorina", "King Mudface",
+        "General Kocioraw"};
+    private static final String[] QUERIES = {"getCardsInHand", "getPlayerDeck",
+        "getCardsOnTable", "getPlayerTurn", "getPlayerHero", "getPlayerMana",
+        "getEnvironmentCardsInHand", "getFrozenCardsOnTable", "getTotalGamesPlayed",
+        "getPlayerOneWins", "getPlayerTwoWins"};
+
+    /**
+     * for coding style
+     */
+    private SyntheticGames() {
+    }
+
+    /**
+     * Create an input with random decks and games. Every action is performed on the game
+     * while it is built and the actions that throw are replaced, so the games never fail
+     * during a benchmark; the actions that only write an error are kept, as in real inputs.
+     * @param seed the seed of the generator
+     * @param nrDecks the number of decks of every player
+     * @param nrCardsInDeck the number of cards in every deck
+     * @param nrGames the number of games
+     * @param nrActions the number of actions of every game
+     * @return the generated input
+     */
+    public static Input createInput(final long seed, final int nrDecks, final int nrCardsInDeck,
+                                    final int nrGames, final int nrActions) {
+        Random random = new Random(seed);
+        Input input = new Input();
+        input.setPlayerOneDecks(createDecks(random, nrDecks, nrCardsInDeck));
+        input.setPlayerTwoDecks(createDecks(random, nrDecks, nrCardsInDeck));
+        input.setGames(new ArrayList<>());
+
+        GamePlay gamePlay = new GamePlay(input.getPlayerOneDecks(), input.getPlayerTwoDecks(),
+                JsonNodeFactory.instance);
+        try (JsonGenerator output = createNullGenerator()) {
+            output.writeStartArray();
+            for (int i = 0; i < nrGames; i++) {
+                input.getGames().add(createGame(random, gamePlay, nrDecks, nrActions, output));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return input;
+    }
+
+    /**
+     * Create a random game and play it on a game play, keeping the actions that do not throw
+     */
+    private static GameInput createGame(final Random random, final GamePlay gamePlay,
+                                        final int nrDecks, final int nrActions,
+                                        final JsonGenerator output) {
+        StartGameInput startGame = new StartGameInput();
+        startGame.setPlayerOneDeckIdx(random.nextInt(nrDecks));
+        startGame.setPlayerTwoDeckIdx(random.nextInt(nrDecks));
+        startGame.setShuffleSeed(random.nextInt());
+        startGame.setPlayerOneHero(createHero(random));
+        startGame.setPlayerTwoHero(createHero(random));
+        startGame.setStartingPlayer(1 + random.nextInt(2));
+
+        GameInput game = new GameInput();
+        game.setStartGame(startGame);
+        game.setActions(new ArrayList<>());
+        gamePlay.start(new Game(startGame));
+
+        for (int j = 0; j < nrActions; j++) {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                ActionsInput action = createAction(random);
+                if (isPlayable(gamePlay, action, output)) {
+                    game.getActions().add(action);
+                    break;
+                }
+            }
+        }
+
+        return game;
+    }
+
+    /**
+     * Create a table with every row full, as the GamePlay table is built
+     * @param random the generator of the card stats
+     * @param attackerName the name of the card placed first on its row for player one
+     * @return the table
+     */
+    public static Board createFullTable(final Random random, final String attackerName) {
+        Board board = new Board();
+
+        Card attacker = new Card(createMinion(random, attackerName));
+        int attackerRow = Player.PLAYER_ONE_FRONT_ROW;
+        if (attacker.isBackRow()) {
+            attackerRow = Player.PLAYER_ONE_BACK_ROW;
+        }
+        board.add(attackerRow, attacker);
+
+        String[][] rows = {
+            {"Sentinel", "Berserker", "Disciple", "The Cursed One", "Sentinel"},
+            {"Goliath", "Warden", "The Ripper", "Miraj", "The Ripper"},
+            {"Goliath", "Warden", "Miraj", "The Ripper", "Miraj"},
+            {"Disciple", "Sentinel", "Berserker", "The Cursed One", "Sentinel"}};
+
+        for (int i = 0; i < Board.TABLE_MAX_ROWS; i++) {
+            for (int j = 0; !board.isRowFull(i); j++) {
+                board.add(i, new Card(createMinion(random, rows[i][j])));
+            }
+        }
+
+        return board;
+    }
+
+    /**
+     * Create a list of random cards, like a hand or a deck
+     * @param random the generator of the cards
+     * @param size the number of cards
+     * @return the list of cards
+     */
+    public static ArrayList<Card> createCards(final Random random, final int size) {
+        ArrayList<Card> cards = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            cards.add(new Card(createCard(random)));
+        }
+        return cards;
+    }
+
+    /**
+     * Create a random minion or environment card
+     * @param random the generator of the card
+     * @return the card information
+     */
+    public static CardInput createCard(final Random random) {
+        if (random.nextInt(ENVIRONMENT_RATIO) == 0) {
+            CardInput card = new CardInput();
+            card.setName(ENVIRONMENTS[random.nextInt(ENVIRONMENTS.length)]);
+            card.setMana(2 + random.nextInt(2));
+            card.setDescription("Environment card " + card.getName());
+            card.setColors(new ArrayList<>(List.of("Red", "Blue")));
+            return card;
+        }
+
+        return createMinion(random, MINIONS[random.nextInt(MINIONS.length)]);
+    }
+
+    /**
+     * Create a minion card with random stats
+     * @param random the generator of the stats
+     * @param name the name of the minion
+     * @return the card information
+     */
+    public static CardInput createMinion(final Random random, final String name) {
+        CardInput card = new CardInput();
+        card.setName(name);
+        card.setMana(1 + random.nextInt(3));
+        card.setAttackDamage(1 + random.nextInt(5));
+        card.setHealth(2 + random.nextInt(6));
+        card.setDescription("Minion card " + name);
+        card.setColors(new ArrayList<>(List.of("Red", "Green", "White")));
+        return card;
+    }
+
+    /**
+     * Create a hero card
+     * @param random the generator used to pick the hero
+     * @return the card information
+     */
+    public static CardInput createHero(final Random random) {
+        return createHero(HEROES[random.nextInt(HEROES.length)], 1 + random.nextInt(2));
+    }
+
+    /**
+     * Create a hero card
+     * @param name the name of the hero
+     * @param mana the mana the hero's ability costs
+     * @return the card information
+     */
+    public static CardInput createHero(final String name, final int mana) {
+        CardInput card = new CardInput();
+        card.setName(name);
+        card.setMana(mana);
+        card.setDescription("Hero card " + name);
+        card.setColors(new ArrayList<>(List.of("Yellow")));
+        return card;
+    }
+
+    /**
+     * Create a generator that drops everything written to it. It is made by an ObjectMapper,
+     * as in Main.action, so it can write the nodes of the actions
+     * @return the generator
+     * @throws IOException in case of exceptions to writing
+     */
+    public static JsonGenerator createNullGenerator() throws IOException {
+        return new ObjectMapper().getFactory().createGenerator(OutputStream.nullOutputStream())
+                .useDefaultPrettyPrinter();
+    }
+
+    private static DecksInput createDecks(final Random random, final int nrDecks,
+                                          final int nrCardsInDeck) {
+        DecksInput decks = new DecksInput();
+        decks.setNrDecks(nrDecks);
+        decks.setNrCardsInDeck(nrCardsInDeck);
+        decks.setDecks(new ArrayList<>());
+
+        for (int i = 0; i < nrDecks; i++) {
+            ArrayList<CardInput> deck = new ArrayList<>();
+            for (int j = 0; j < nrCardsInDeck; j++) {
+                deck.add(createCard(random));
+            }
+            decks.getDecks().add(deck);
+        }
+
+        return decks;
+    }
+
+    private static ActionsInput createAction(final Random random) {
+        ActionsInput action = new ActionsInput();
+        int kind = random.nextInt(PERCENT);
+
+        if (kind < END_TURN) {
+            action.setCommand("endPlayerTurn");
+        } else if (kind < PLACE_CARD) {
+            action.setCommand("placeCard");
+            action.setHandIdx(random.nextInt(MAX_HAND_IDX));
+        } else if (kind < ATTACK) {
+            action.setCommand(random.nextBoolean() ? "cardUsesAttack" : "cardUsesAbility");
+            action.setCardAttacker(createCoordinates(random));
+            action.setCardAttacked(createCoordinates(random));
+        } else if (kind < ATTACK_HERO) {
+            action.setCommand("useAttackHero");
+            action.setCardAttacker(createCoordinates(random));
+        } else if (kind < ROW_ABILITY) {
+            action.setCommand(random.nextBoolean() ? "useHeroAbility" : "useEnvironmentCard");
+            action.setHandIdx(random.nextInt(MAX_HAND_IDX));
+            action.setAffectedRow(random.nextInt(Board.TABLE_MAX_ROWS));
+        } else {
+            action.setCommand(QUERIES[random.nextInt(QUERIES.length)]);
+            action.setPlayerIdx(1 + random.nextInt(2));
+        }
+
+        return action;
+    }
+
+    private static Coordinates createCoordinates(final Random random) {
+        Coordinates coordinates = new Coordinates();
+        coordinates.setX(random.nextInt(Board.TABLE_MAX_ROWS));
+        coordinates.setY(random.nextInt(MAX_HAND_IDX));
+        return coordinates;
+    }
+
+    /**
+     * Perform an action on the current game of a game play and keep it if it does not throw;
+     * otherwise the game is brought back to the state before the action
+     */
+    private static boolean isPlayable(final GamePlay gamePlay, final ActionsInput action,
+                                      final JsonGenerator output) {
+        GameState saved = gamePlay.getState().snapshot();
+        try {
+            gamePlay.addActionToOutput(new Action(action), output);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            gamePlay.getState().restore(saved);
+            return false;
+        }
+    }
+
+    static final int MAX_ATTEMPTS = 16;
+    static final int ENVIRONMENT_RATIO = 5;
+    static final int MAX_HAND_IDX = 3;
+    static final int PERCENT = 100;
+    static final int END_TURN = 20;
+    static final int PLACE_CARD = 40;
+    static final int ATTACK = 60;
+    static final int ATTACK_HERO = 70;
+    static final int ROW_ABILITY = 80;
+}
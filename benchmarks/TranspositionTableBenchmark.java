@@ -0,0 +1,83 @@
+package main;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes and stores per second of a transposition table shared by several threads, with
+ * keys drawn from a set bigger than the table so entries are replaced. The hit rate is
+ * printed at the end of every trial
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TranspositionTableBenchmark {
+    @Param({"65536"})
+    private int capacity;
+
+    private TranspositionTable table;
+
+    /**
+     * The keys probed by one thread
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        private long next = System.nanoTime();
+        private final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+
+        long nextKey() {
+            next++;
+            return Zobrist.mix(next % KEYS);
+        }
+    }
+
+    /**
+     * Build the table once for the whole trial
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = new TranspositionTable(capacity);
+    }
+
+    /**
+     * Print the counters of the table
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println(table);
+    }
+
+    /**
+     * @param keys the keys of the thread
+     * @return true if the state was found
+     */
+    @Benchmark
+    public boolean probeOrStore(final Keys keys) {
+        long key = keys.nextKey();
+        if (table.probe(key, keys.entry)) {
+            return true;
+        }
+        return table.store(key, 0, (int) (key >>> DEPTH_SHIFT), 0);
+    }
+
+    static final long KEYS = 1 << 18;
+    static final int DEPTH_SHIFT = 56;
+}